@@ -0,0 +1,53 @@
+package com.example.todo.todobackend.benchmark;
+
+import java.util.Arrays;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.todo.todobackend.TodoBackendApplication;
+
+/**
+ * Boots the application against an in-memory H2 database seeded with a fixed number of tasks,
+ * either without a web server or on an embedded Tomcat for HTTP load tests.
+ */
+final class BenchmarkApplication {
+
+    // Seeds in one statement; priorities, completion and due dates are spread evenly
+    private static final String SEED_SQL =
+            "INSERT INTO tasks (id, title, description, completed, priority, due_date) "
+            + "SELECT x, 'Benchmark task ' || x, 'Description of benchmark task ' || x, MOD(x, 2) = 0, "
+            + "CASE MOD(x, 3) WHEN 0 THEN 'LOW' WHEN 1 THEN 'MEDIUM' ELSE 'HIGH' END, "
+            + "DATEADD('DAY', MOD(x, 365), DATE '2025-01-01') "
+            + "FROM SYSTEM_RANGE(1, ?)";
+
+    private BenchmarkApplication() {
+    }
+
+    // Arguments override application.properties, unlike the builder's default properties
+    static ConfigurableApplicationContext start(int datasetSize, SpringApplicationBuilder builder, String... args) {
+        return seed(builder.sources(TodoBackendApplication.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.NONE)
+                .run(args), datasetSize);
+    }
+
+    // Starts Tomcat on a random port; read it back from the "local.server.port" property
+    static ConfigurableApplicationContext startServer(int datasetSize, SpringApplicationBuilder builder, String... args) {
+        String[] serverArgs = Arrays.copyOf(args, args.length + 1);
+        serverArgs[args.length] = "--server.port=0";
+        return seed(builder.sources(TodoBackendApplication.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.SERVLET)
+                .run(serverArgs), datasetSize);
+    }
+
+    private static ConfigurableApplicationContext seed(ConfigurableApplicationContext context, int datasetSize) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update(SEED_SQL, datasetSize);
+        jdbcTemplate.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + (datasetSize + 1));
+        return context;
+    }
+}
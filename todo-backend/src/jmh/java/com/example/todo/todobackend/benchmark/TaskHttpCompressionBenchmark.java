@@ -0,0 +1,119 @@
+package com.example.todo.todobackend.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Bytes on the wire and latency of the task list endpoints with and without gzip response
+ * compression, over HTTP/1.1 and cleartext HTTP/2 (h2c).
+ * The client always sends Accept-Encoding: gzip and inflates what it receives, like a browser.
+ * The "wireBytes" counter is the response body size as sent, headers and framing excluded, reported in
+ * the same unit as the primary score, so bytes per request is its score divided by the primary one.
+ * A single client thread sends one request at a time, so the mean latency is the inverse of the score.
+ * Over loopback bandwidth is free and only the cost of compressing shows up in the latency; on a real
+ * network the saved bytes are what shortens the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskHttpCompressionBenchmark {
+
+    private static final int DATASET_SIZE = 10000;
+
+    @Param({"false", "true"})
+    private boolean compression;
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    private HttpClient.Version protocol;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.startServer(DATASET_SIZE, new SpringApplicationBuilder(),
+                "--server.compression.enabled=" + compression,
+                "--todo.access-log.enabled=false");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/tasks";
+        httpClient = HttpClient.newBuilder().version(protocol).build();
+        // h2c starts with an HTTP/1.1 Upgrade request; fail early if the connection stays on HTTP/1.1
+        HttpClient.Version negotiated = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/stats")).build(),
+                HttpResponse.BodyHandlers.discarding()).version();
+        if (negotiated != protocol) {
+            throw new IllegalStateException("Expected " + protocol + " but the server answered with " + negotiated);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Capped at todo.tasks.max-list-size (1000 tasks)
+    @Benchmark
+    public byte[] getAllTasks(WireBytes counter) throws Exception {
+        return send(baseUrl, counter);
+    }
+
+    @Benchmark
+    public byte[] getTasksByPriority(WireBytes counter) throws Exception {
+        return send(baseUrl + "/priority/HIGH", counter);
+    }
+
+    @Benchmark
+    public byte[] getTasksPage(WireBytes counter) throws Exception {
+        return send(baseUrl + "/page?size=100", counter);
+    }
+
+    private byte[] send(String url, WireBytes counter) throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Accept-Encoding", "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        counter.wireBytes += response.body().length;
+        boolean gzipped = response.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent();
+        return gzipped ? gunzip(response.body()) : response.body();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class WireBytes {
+
+        public long wireBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.todo.todobackend.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * HTTP throughput of the servlet stack with Tomcat on platform threads versus virtual threads.
+ * Every statement is delayed by queryLatencyMillis to model a database across the network, so
+ * requests spend most of their time waiting on JDBC. With more concurrent clients than Tomcat's
+ * 200 platform threads, the platform configuration queues requests, while virtual threads are
+ * only bounded by the connection pool.
+ * Only platform threads run by default; pass -p virtualThreads=false,true under the java21
+ * profile on a JDK 21 to compare (virtualThreads=true fails at setup on older JDKs).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(400)
+public class TaskHttpLoadBenchmark {
+
+    private static final int DATASET_SIZE = 10000;
+    private static final LocalDate FIRST_DUE_DATE = LocalDate.of(2025, 1, 1);
+
+    @Param({"false"})
+    private boolean virtualThreads;
+
+    @Param({"0", "10"})
+    private long queryLatencyMillis;
+
+    // Larger than Tomcat's platform pool, so the pool is not what caps the virtual-thread run
+    @Param({"300"})
+    private int maxPoolSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtualThreads=true requires Java 21 (build with -Pjava21)");
+        }
+        long latency = queryLatencyMillis;
+        // Passed as arguments: default properties would lose to application.properties
+        context = BenchmarkApplication.startServer(DATASET_SIZE, new SpringApplicationBuilder()
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new SlowDataSourcePostProcessor(latency))),
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + maxPoolSize,
+                "--spring.datasource.hikari.connection-timeout=60000",
+                "--todo.access-log.enabled=false");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/tasks";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getTasksByPriorityAndDueDate() throws Exception {
+        LocalDate dueDate = FIRST_DUE_DATE.plusDays(ThreadLocalRandom.current().nextInt(365));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/priority/HIGH/due-date/" + dueDate)).GET());
+    }
+
+    @Benchmark
+    public int updateTaskPriority() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1, DATASET_SIZE + 1);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id + "/priority/LOW"))
+                .header("Prefer", "return=minimal")
+                .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private int send(HttpRequest.Builder request) throws Exception {
+        int status = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 400) {
+            throw new IllegalStateException("Unexpected status " + status);
+        }
+        return status;
+    }
+
+    /**
+     * Delays every prepared statement, holding the pooled connection like a network round trip would.
+     */
+    private static final class SlowDataSourcePostProcessor implements BeanPostProcessor {
+
+        private final long latencyMillis;
+
+        SlowDataSourcePostProcessor(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (latencyMillis == 0 || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return slow(super.getConnection());
+                }
+            };
+        }
+
+        private Connection slow(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            Thread.sleep(latencyMillis);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
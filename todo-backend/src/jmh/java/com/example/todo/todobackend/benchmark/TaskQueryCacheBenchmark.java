@@ -0,0 +1,138 @@
+package com.example.todo.todobackend.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.model.Task.Priority;
+import com.example.todo.todobackend.service.TaskService;
+
+/**
+ * Hot filter reads with and without the Hibernate second-level and query caches.
+ * Each operation reads one of the five priority or completion-status lists; writePercent of the
+ * operations first change a task's priority, which invalidates every cached result.
+ * The "statements" counter is the number of JDBC statements sent to the database, reported in the
+ * same unit as the primary score, so statements per operation is its score divided by the primary one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskQueryCacheBenchmark {
+
+    private static final int DATASET_SIZE = 10000;
+
+    @Param({"false", "true"})
+    private boolean queryCache;
+
+    @Param({"0", "1", "10"})
+    private int writePercent;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private final LongAdder preparedStatements = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(DATASET_SIZE, new SpringApplicationBuilder()
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new StatementCountingPostProcessor(preparedStatements))),
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + queryCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + queryCache);
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskView> readHotFilter(Statements counter) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long before = preparedStatements.sum();
+        if (random.nextInt(100) < writePercent) {
+            taskService.setTaskPriority(random.nextLong(1, DATASET_SIZE + 1), Priority.values()[random.nextInt(3)], null);
+        }
+        int filter = random.nextInt(5);
+        List<TaskView> tasks = filter < 3
+                ? taskService.getTasksByPriority(Priority.values()[filter])
+                : taskService.getTasksByCompletionStatus(filter == 3);
+        counter.statements += preparedStatements.sum() - before;
+        return tasks;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Statements {
+
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+    }
+
+    /**
+     * Counts the statements prepared on every pooled connection, one per database round trip.
+     */
+    private static final class StatementCountingPostProcessor implements BeanPostProcessor {
+
+        private final LongAdder count;
+
+        StatementCountingPostProcessor(LongAdder count) {
+            this.count = count;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return counting(super.getConnection());
+                }
+            };
+        }
+
+        private Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            count.increment();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
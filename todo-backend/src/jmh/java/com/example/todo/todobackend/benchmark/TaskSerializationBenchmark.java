@@ -0,0 +1,74 @@
+package com.example.todo.todobackend.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.todo.todobackend.config.JacksonConfig;
+import com.example.todo.todobackend.config.TaskJsonSerializers;
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.model.Task.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of serializing TaskController list responses with the application's ObjectMapper.
+ * "bean" is Jackson's reflective bean serialization, "task" adds the hand-written TaskJsonSerializers
+ * the application registers. Divide a score by listSize for the cost per task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int listSize;
+
+    @Param({"bean", "task"})
+    private String serializer;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    // As the list endpoints return them: projections with the java.sql.Date Hibernate reads
+    private List<TaskView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder());
+        if (serializer.equals("task")) {
+            objectMapper.registerModule(TaskJsonSerializers.module());
+        }
+        tasks = new ArrayList<>(listSize);
+        views = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Task task = new Task("Benchmark task " + i, "Description of benchmark task " + i,
+                    Priority.values()[i % 3], new Date());
+            task.setId((long) i);
+            tasks.add(task);
+            views.add(new TaskView(task.getId(), task.getTitle(), task.getDescription(), false, task.getPriority(),
+                    new java.sql.Date(task.getDueDate().getTime()), 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws Exception {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskViewList() throws Exception {
+        return objectMapper.writeValueAsBytes(views);
+    }
+}
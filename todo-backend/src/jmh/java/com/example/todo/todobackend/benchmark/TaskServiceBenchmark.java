@@ -0,0 +1,117 @@
+package com.example.todo.todobackend.benchmark;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.todo.todobackend.dto.TaskPage;
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.model.Task.Priority;
+import com.example.todo.todobackend.repository.TaskRepository;
+import com.example.todo.todobackend.service.TaskService;
+
+/**
+ * Latency of the TaskService create/read/update/filter paths against seeded H2 datasets.
+ * Hibernate's second-level and query caches are off, so the finders run their indexed queries instead
+ * of returning cached results (TaskQueryCacheBenchmark measures the caches). The read by id also goes
+ * past the "tasks" cache, and tasks created during an iteration are deleted after it so every iteration
+ * runs against the seeded dataset size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final long FIRST_DUE_DATE = java.sql.Date.valueOf("2025-01-01").getTime();
+
+    @Param({"10000", "100000", "1000000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(datasetSize, new SpringApplicationBuilder(),
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    // Only createTask adds rows, and the seeded ids end at datasetSize
+    @TearDown(Level.Iteration)
+    public void deleteCreatedTasks() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE id > ?", datasetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // TaskService.getTaskById answers repeated ids from the "tasks" cache; this reads the row
+    @Benchmark
+    public Optional<Task> getTaskById() {
+        return taskRepository.findUncachedById(randomId());
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(new Task("Created task", "Created during benchmark", Priority.HIGH));
+    }
+
+    @Benchmark
+    public Task updateTaskPriority() {
+        return taskService.updateTaskPriority(randomId(), Priority.values()[ThreadLocalRandom.current().nextInt(3)], null);
+    }
+
+    @Benchmark
+    public boolean setTaskCompleted() {
+        return taskService.setTaskCompleted(randomId(), ThreadLocalRandom.current().nextBoolean(), null);
+    }
+
+    @Benchmark
+    public List<TaskView> getTasksByPriorityAndDueDate() {
+        return taskService.getTasksByPriorityAndDueDate(Priority.HIGH, randomDueDate());
+    }
+
+    @Benchmark
+    public List<TaskView> getTasksByDueDate() {
+        return taskService.getTasksByDueDate(randomDueDate());
+    }
+
+    @Benchmark
+    public TaskPage getTasksPage() {
+        return taskService.getTasksPage(null, 50);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, datasetSize + 1);
+    }
+
+    private Date randomDueDate() {
+        return new java.sql.Date(FIRST_DUE_DATE + ThreadLocalRandom.current().nextInt(365) * DAY_MILLIS);
+    }
+}
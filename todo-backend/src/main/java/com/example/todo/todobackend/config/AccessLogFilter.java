@@ -0,0 +1,143 @@
+package com.example.todo.todobackend.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes one structured key=value line per request to the "access-log" logger.
+ * The logger is routed to an asynchronous, bounded appender in logback-spring.xml, so request
+ * threads never wait on I/O. Successful requests can be sampled, and request bodies are only
+ * buffered for the configured payload paths. Asynchronous requests such as the export and the event
+ * stream are logged when the async processing completes, with their final status and full duration.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER_NAME = "access-log";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final AccessLogProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!accessLog.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        HttpServletRequest requestToUse = request;
+        if (isPayloadPath(request)) {
+            requestToUse = new ContentCachingRequestWrapper(request, properties.getMaxPayloadLength());
+        }
+        try {
+            filterChain.doFilter(requestToUse, response);
+        } finally {
+            if (requestToUse.isAsyncStarted()) {
+                requestToUse.getAsyncContext().addListener(new CompletionListener(requestToUse, response, start));
+            } else {
+                log(requestToUse, response.getStatus(), start);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long start) {
+        if (status >= 500 || isSampled()) {
+            long durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            accessLog.info(formatEntry(request, status, durationMicros));
+        }
+    }
+
+    private boolean isPayloadPath(HttpServletRequest request) {
+        if (properties.getPayloadPaths().isEmpty()) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : properties.getPayloadPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSampled() {
+        double sampleRate = properties.getSampleRate();
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private String formatEntry(HttpServletRequest request, int status, long durationMicros) {
+        StringBuilder entry = new StringBuilder(128)
+                .append("method=").append(request.getMethod())
+                .append(" uri=").append(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            entry.append(" query=").append(quote(request.getQueryString()));
+        }
+        entry.append(" status=").append(status)
+                .append(" durationUs=").append(durationMicros)
+                .append(" client=").append(request.getRemoteAddr());
+        if (request instanceof ContentCachingRequestWrapper wrapper) {
+            byte[] payload = wrapper.getContentAsByteArray();
+            if (payload.length > 0) {
+                entry.append(" payload=").append(quote(new String(payload, StandardCharsets.UTF_8)));
+            }
+        }
+        return entry.toString();
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r") + '"';
+    }
+
+    // Logs once the response of an async request is complete; timeouts and errors also end in onComplete
+    private class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            log(request, response.getStatus(), start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
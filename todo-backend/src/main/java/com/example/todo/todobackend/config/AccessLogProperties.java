@@ -0,0 +1,57 @@
+package com.example.todo.todobackend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the access log written by {@link AccessLogFilter}.
+ */
+@ConfigurationProperties(prefix = "todo.access-log")
+public class AccessLogProperties {
+
+    // Whether the access log filter is registered at all
+    private boolean enabled = true;
+
+    // Fraction of successful requests to log (0.0 - 1.0); server errors are always logged
+    private double sampleRate = 1.0;
+
+    // Ant-style paths whose request bodies are logged; payloads are never buffered elsewhere
+    private List<String> payloadPaths = new ArrayList<>();
+
+    // Upper bound on the buffered and logged payload, in bytes
+    private int maxPayloadLength = 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public List<String> getPayloadPaths() {
+        return payloadPaths;
+    }
+
+    public void setPayloadPaths(List<String> payloadPaths) {
+        this.payloadPaths = payloadPaths;
+    }
+
+    public int getMaxPayloadLength() {
+        return maxPayloadLength;
+    }
+
+    public void setMaxPayloadLength(int maxPayloadLength) {
+        this.maxPayloadLength = maxPayloadLength;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.todo.todobackend.config;
+
+import java.net.URI;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    // Cache of tasks by id; sizing and TTL are set through spring.cache.caffeine.spec
+    public static final String TASKS_CACHE = "tasks";
+
+    // Hibernate second-level cache regions for Task entities and for cached finder results;
+    // sizing and expiry are set in hibernate-cache.conf
+    public static final String TASK_ENTITY_REGION = "task";
+    public static final String TASK_QUERY_REGION = "task-queries";
+
+    private static final URI HIBERNATE_CACHE_CONFIG = URI.create("classpath:hibernate-cache.conf");
+
+    // The Caffeine manager configured from spring.cache.*, made transaction-aware: puts and evictions
+    // issued inside a transaction are applied after it commits. Evicting before the commit would let
+    // a concurrent lookup re-cache the old row, which would then be served until it expires.
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    // Hibernate closes its JCache CacheManager with the session factory, and providers hand out one
+    // manager per URI, so every application context gets a provider and manager of its own.
+    // Contexts without this configuration fall back to hibernate.javax.cache.uri and share a manager.
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer() {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER,
+                new CaffeineCachingProvider().getCacheManager(HIBERNATE_CACHE_CONFIG, getClass().getClassLoader()));
+    }
+}
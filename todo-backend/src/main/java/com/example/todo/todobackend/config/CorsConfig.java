@@ -1,9 +1,11 @@
 package com.example.todo.todobackend.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.filter.CorsFilter;
 
 @Configuration
@@ -11,8 +13,24 @@ public class CorsConfig {
 
 
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public CorsFilter corsFilter() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return new CorsFilter(source);
+    }
+    
+    // Same rules for the WebFlux stack of the "reactive" profile
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CorsWebFilter corsWebFilter() {
+        org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource source =
+                new org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return new CorsWebFilter(source);
+    }
+    
+    private CorsConfiguration corsConfiguration() {
         CorsConfiguration config = new CorsConfiguration();
         
         // Using allowedOriginPatterns instead of allowedOrigins for more flexibility with credentials
@@ -29,11 +47,13 @@ public class CorsConfig {
         config.addAllowedMethod("OPTIONS");
         config.addAllowedMethod("PATCH");
         
+        // Let the frontend read ETags for If-None-Match polling and If-Match writes
+        config.addExposedHeader("ETag");
+        
         // Now we can safely enable credentials with patterns
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
         
-        source.registerCorsConfiguration("/**", config);
-        return new CorsFilter(source);
+        return config;
     }
 }
\ No newline at end of file
@@ -2,10 +2,14 @@ package com.example.todo.todobackend.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
 @Configuration
 public class JacksonConfig {
@@ -17,4 +21,22 @@ public class JacksonConfig {
         objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
         return objectMapper;
     }
-}
\ No newline at end of file
+
+    // Binary alternatives to JSON (application/cbor, application/x-jackson-smile) for service clients,
+    // negotiated through Accept and Content-Type. Spring Boot slots them in after the JSON converter,
+    // so JSON stays the default for browsers and Accept: */*.
+    // Each builder is a fresh copy carrying the same modules and settings as the JSON mapper
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cborMapper = builder.createXmlMapper(false).factory(new CBORFactory()).build();
+        cborMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        return new MappingJackson2CborHttpMessageConverter(cborMapper);
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper smileMapper = builder.createXmlMapper(false).factory(new SmileFactory()).build();
+        smileMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper);
+    }
+}
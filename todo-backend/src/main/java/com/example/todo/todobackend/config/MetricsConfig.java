@@ -0,0 +1,29 @@
+package com.example.todo.todobackend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.todo.todobackend.service.TaskEventBroadcaster;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on Spring beans such as TaskService
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+    
+    // Number of open GET /tasks/stream connections
+    @Bean
+    public MeterBinder taskStreamMetrics(TaskEventBroadcaster broadcaster) {
+        return registry -> Gauge.builder("todo.tasks.stream.subscribers", broadcaster, TaskEventBroadcaster::getSubscriberCount)
+                .description("Open task change stream subscriptions")
+                .register(registry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.todo.todobackend.config;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.example.todo.todobackend.model.Task;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Infrastructure for the "reactive" profile (WebFlux + R2DBC).
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    // Both Tomcat and Reactor Netty are on the classpath and Boot would pick Tomcat;
+    // Netty's event loop is what lets a few threads serve many idle connections
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // Task ids come from tasks_seq like on the JPA stack. Hibernate hands out the block
+    // [value, value + allocationSize) per sequence call, so taking one id per call never collides.
+    @Bean
+    public BeforeConvertCallback<Task> taskIdCallback(DatabaseClient databaseClient) {
+        return (task, table) -> {
+            if (task.getId() != null) {
+                return Mono.just(task);
+            }
+            return databaseClient.sql("SELECT nextval('tasks_seq')")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(id -> {
+                        task.setId(id);
+                        return task;
+                    });
+        };
+    }
+
+    // Due dates are DATE columns; read them back as java.sql.Date so JSON matches the JPA stack
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(connectionFactory),
+                List.of(new DateToLocalDateConverter(), new LocalDateToSqlDateConverter()));
+    }
+
+    @WritingConverter
+    static class DateToLocalDateConverter implements Converter<Date, LocalDate> {
+        @Override
+        public LocalDate convert(Date source) {
+            return new java.sql.Date(source.getTime()).toLocalDate();
+        }
+    }
+
+    @ReadingConverter
+    static class LocalDateToSqlDateConverter implements Converter<LocalDate, Date> {
+        @Override
+        public Date convert(LocalDate source) {
+            return java.sql.Date.valueOf(source);
+        }
+    }
+}
@@ -1,21 +0,0 @@
-package com.example.todo.todobackend.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.filter.CommonsRequestLoggingFilter;
-
-@Configuration
-public class RequestLoggingFilterConfig {
-
-    @Bean
-    public CommonsRequestLoggingFilter requestLoggingFilter() {
-        CommonsRequestLoggingFilter loggingFilter = new CommonsRequestLoggingFilter();
-        loggingFilter.setIncludeClientInfo(true);
-        loggingFilter.setIncludeQueryString(true);
-        loggingFilter.setIncludePayload(true);
-        loggingFilter.setMaxPayloadLength(10000);
-        loggingFilter.setIncludeHeaders(true);
-        loggingFilter.setAfterMessagePrefix("REQUEST DATA: ");
-        return loggingFilter;
-    }
-}
\ No newline at end of file
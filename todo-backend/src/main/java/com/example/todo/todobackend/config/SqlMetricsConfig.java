@@ -0,0 +1,57 @@
+package com.example.todo.todobackend.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+@Configuration
+@EnableConfigurationProperties(SqlMetricsProperties.class)
+@ConditionalOnProperty(prefix = "todo.sql", name = "enabled", matchIfMissing = true)
+public class SqlMetricsConfig {
+
+    @Bean
+    public SqlMetricsListener sqlMetricsListener(MeterRegistry registry, SqlMetricsProperties properties) {
+        return new SqlMetricsListener(registry, properties);
+    }
+
+    // Wrap the pooled DataSource so statements from Hibernate, Spring Data and JdbcTemplate alike are measured.
+    // The proxy unwraps to the pool, so the connection pool metrics still find it
+    @Bean
+    public static BeanPostProcessor sqlMetricsDataSourcePostProcessor(ObjectProvider<SqlMetricsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(listener.getObject())
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(SqlMetricsListener listener,
+            SqlMetricsProperties properties, MeterRegistry registry) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementCountFilter(listener, properties, registry));
+        registration.addUrlPatterns("/*");
+        // Right after the access log, so statements from every later filter are counted
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.todo.todobackend.config;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Times every JDBC statement executed through the proxied DataSource.
+ * Durations go to the todo.sql.statements timer, tagged by statement type and outcome; statements
+ * slower than the configured threshold are also logged with their SQL and bind parameters.
+ * They are measured with System.nanoTime(), as ExecutionInfo.getElapsedTime() only has millisecond
+ * resolution and would record most statements as zero.
+ * While a request is being tracked (see {@link SqlStatementCountFilter}) the statements run on its
+ * thread are counted as well.
+ */
+public class SqlMetricsListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMetricsListener.class);
+
+    // ExecutionInfo custom value holding the System.nanoTime() taken in beforeQuery
+    private static final String START_NANOS = SqlMetricsListener.class.getName() + ".startNanos";
+
+    private final SqlMetricsProperties properties;
+    // Timers are looked up per statement, so they are registered once up front: [success, error] per type
+    private final Map<QueryType, Timer[]> timers = new EnumMap<>(QueryType.class);
+    private final Counter slowStatements;
+    private final ThreadLocal<RequestStatements> requestStatements = new ThreadLocal<>();
+
+    public SqlMetricsListener(MeterRegistry registry, SqlMetricsProperties properties) {
+        this.properties = properties;
+        for (QueryType type : QueryType.values()) {
+            timers.put(type, new Timer[] {timer(registry, type, "success"), timer(registry, type, "error")});
+        }
+        this.slowStatements = Counter.builder("todo.sql.slow.statements")
+                .description("JDBC statements slower than todo.sql.slow-query-threshold")
+                .register(registry);
+    }
+
+    private static Timer timer(MeterRegistry registry, QueryType type, String outcome) {
+        return Timer.builder("todo.sql.statements")
+                .description("JDBC statement execution time")
+                .tag("type", type.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryType type = queryInfoList.isEmpty() ? QueryType.OTHER : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+        long elapsedNanos = elapsedNanos(execInfo);
+        timers.get(type)[execInfo.isSuccess() ? 0 : 1].record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        RequestStatements statements = requestStatements.get();
+        if (statements != null) {
+            queryInfoList.forEach(queryInfo -> statements.add(queryInfo.getQuery()));
+        }
+
+        if (elapsedNanos >= properties.getSlowQueryThreshold().toNanos()) {
+            slowStatements.increment();
+            if (log.isWarnEnabled()) {
+                log.warn(formatSlowStatement(execInfo, type, queryInfoList, elapsedNanos));
+            }
+        }
+    }
+
+    // Falls back to the proxy's millisecond timing if beforeQuery did not run for this execution
+    private static long elapsedNanos(ExecutionInfo execInfo) {
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        return startNanos != null
+                ? System.nanoTime() - startNanos
+                : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+    }
+
+    // Start counting the statements run on the current thread; pair with endRequest()
+    RequestStatements startRequest() {
+        RequestStatements statements = new RequestStatements();
+        requestStatements.set(statements);
+        return statements;
+    }
+
+    void endRequest() {
+        requestStatements.remove();
+    }
+
+    private String formatSlowStatement(ExecutionInfo execInfo, QueryType type, List<QueryInfo> queryInfoList,
+            long elapsedNanos) {
+        StringBuilder entry = new StringBuilder(256)
+                .append("Slow statement: durationMs=").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .append(" type=").append(type.name().toLowerCase(Locale.ROOT))
+                .append(" success=").append(execInfo.isSuccess());
+        if (execInfo.isBatch()) {
+            entry.append(" batchSize=").append(execInfo.getBatchSize());
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            entry.append(" sql=\"").append(queryInfo.getQuery()).append('"');
+            if (properties.isLogSlowQueryParameters() && !queryInfo.getParametersList().isEmpty()) {
+                entry.append(" params=").append(queryInfo.getParametersList().stream()
+                        .map(SqlMetricsListener::formatParameters)
+                        .collect(Collectors.joining(",")));
+            }
+        }
+        return entry.toString();
+    }
+
+    // One parameter set, ordered by parameter index: [value1, value2, ...]
+    private static String formatParameters(List<ParameterSetOperation> operations) {
+        return operations.stream()
+                .filter(operation -> operation.getArgs().length > 1)
+                .sorted((a, b) -> Integer.compare(parameterIndex(a), parameterIndex(b)))
+                .map(operation -> ParameterSetOperation.isSetNullParameterOperation(operation)
+                        ? "null" : String.valueOf(operation.getArgs()[1]))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static int parameterIndex(ParameterSetOperation operation) {
+        return operation.getArgs()[0] instanceof Integer index ? index : 0;
+    }
+
+    /**
+     * Statements run while one request was tracked, counted per distinct SQL string.
+     */
+    static final class RequestStatements {
+
+        private int count;
+        private final Map<String, Integer> countsBySql = new HashMap<>();
+
+        void add(String sql) {
+            count++;
+            countsBySql.merge(sql, 1, Integer::sum);
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        // The statement run most often, or null if none ran
+        Map.Entry<String, Integer> mostRepeated() {
+            return countsBySql.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+    }
+}
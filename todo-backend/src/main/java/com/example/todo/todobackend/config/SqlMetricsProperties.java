@@ -0,0 +1,56 @@
+package com.example.todo.todobackend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the JDBC statement metrics recorded by {@link SqlMetricsListener}.
+ */
+@ConfigurationProperties(prefix = "todo.sql")
+public class SqlMetricsProperties {
+
+    // Whether the DataSource is wrapped in the measuring proxy at all
+    private boolean enabled = true;
+
+    // Statements taking at least this long are logged with their SQL
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    // Whether slow statements are logged with their bind parameters
+    private boolean logSlowQueryParameters = true;
+
+    // A request running the same statement more often than this is logged as a likely N+1 pattern
+    private int repeatedStatementThreshold = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    public boolean isLogSlowQueryParameters() {
+        return logSlowQueryParameters;
+    }
+
+    public void setLogSlowQueryParameters(boolean logSlowQueryParameters) {
+        this.logSlowQueryParameters = logSlowQueryParameters;
+    }
+
+    public int getRepeatedStatementThreshold() {
+        return repeatedStatementThreshold;
+    }
+
+    public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+}
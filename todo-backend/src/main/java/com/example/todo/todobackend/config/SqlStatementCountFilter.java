@@ -0,0 +1,68 @@
+package com.example.todo.todobackend.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the JDBC statements each request runs and flags likely N+1 patterns.
+ * The count feeds the todo.sql.request.statements summary. A request that runs the same SQL more
+ * often than todo.sql.repeated-statement-threshold, typically one lookup per row of an earlier
+ * result, is logged and counted in todo.sql.repeated.statement.requests.
+ */
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    private final SqlMetricsListener listener;
+    private final SqlMetricsProperties properties;
+    private final DistributionSummary statementsPerRequest;
+    private final Counter repeatedStatementRequests;
+
+    public SqlStatementCountFilter(SqlMetricsListener listener, SqlMetricsProperties properties, MeterRegistry registry) {
+        this.listener = listener;
+        this.properties = properties;
+        this.statementsPerRequest = DistributionSummary.builder("todo.sql.request.statements")
+                .description("JDBC statements run per HTTP request")
+                .baseUnit("statements")
+                .register(registry);
+        this.repeatedStatementRequests = Counter.builder("todo.sql.repeated.statement.requests")
+                .description("Requests that ran one statement more than todo.sql.repeated-statement-threshold times")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlMetricsListener.RequestStatements statements = listener.startRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            listener.endRequest();
+            record(request, statements);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlMetricsListener.RequestStatements statements) {
+        statementsPerRequest.record(statements.getCount());
+        Map.Entry<String, Integer> mostRepeated = statements.mostRepeated();
+        if (mostRepeated == null || mostRepeated.getValue() <= properties.getRepeatedStatementThreshold()) {
+            return;
+        }
+        repeatedStatementRequests.increment();
+        log.warn("Repeated statement, likely N+1: method={} uri={} statements={} repeated={} sql=\"{}\"",
+                request.getMethod(), request.getRequestURI(), statements.getCount(),
+                mostRepeated.getValue(), mostRepeated.getKey());
+    }
+}
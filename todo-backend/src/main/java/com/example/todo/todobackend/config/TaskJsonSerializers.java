@@ -0,0 +1,190 @@
+package com.example.todo.todobackend.config;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.model.Task.Priority;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Hand-written serializers for Task and TaskView, picked up by Spring Boot's Jackson auto-configuration.
+ * List responses write thousands of tasks, so the seven fields are written directly with pre-encoded
+ * names instead of through bean introspection and Jackson's generic Date serializers.
+ * The output is the same as the default serialization: every field in declaration order, nulls included,
+ * java.sql.Date due dates as yyyy-MM-dd and other dates as ISO-8601 in UTC with milliseconds.
+ * Mapper settings this fast path does not cover fall back to Jackson's own date handling.
+ */
+@JsonComponent
+public class TaskJsonSerializers {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString COMPLETED = new SerializedString("completed");
+    private static final SerializableString PRIORITY = new SerializedString("priority");
+    private static final SerializableString DUE_DATE = new SerializedString("dueDate");
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    private static final SerializableString[] PRIORITY_NAMES = {
+        new SerializedString(Priority.LOW.name()),
+        new SerializedString(Priority.MEDIUM.name()),
+        new SerializedString(Priority.HIGH.name())
+    };
+
+    // Same text as Jackson's StdDateFormat for a UTC mapper: 2025-01-01T12:30:00.000+00:00
+    private static final char[] LOCAL_DATE_TEMPLATE = "0000-00-00".toCharArray();
+    private static final char[] UTC_DATE_TIME_TEMPLATE = "0000-00-00T00:00:00.000+00:00".toCharArray();
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    // StdDateFormat switches to the Julian calendar before 1583 and widens years past 9999
+    private static final long MIN_FAST_PATH_MILLIS = LocalDate.of(1583, 1, 1).toEpochDay() * MILLIS_PER_DAY;
+    private static final long MAX_FAST_PATH_MILLIS = LocalDate.of(10000, 1, 1).toEpochDay() * MILLIS_PER_DAY;
+
+    // The serializers as a module, for ObjectMappers built outside the application context
+    public static SimpleModule module() {
+        return new SimpleModule("TaskJsonSerializers")
+                .addSerializer(Task.class, new TaskSerializer())
+                .addSerializer(TaskView.class, new TaskViewSerializer());
+    }
+
+    public static class TaskSerializer extends StdSerializer<Task> {
+
+        public TaskSerializer() {
+            super(Task.class);
+        }
+
+        @Override
+        public void serialize(Task task, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeTask(generator, provider, task.getId(), task.getTitle(), task.getDescription(), task.isCompleted(),
+                    task.getPriority(), task.getDueDate(), task.getVersion());
+        }
+    }
+
+    public static class TaskViewSerializer extends StdSerializer<TaskView> {
+
+        public TaskViewSerializer() {
+            super(TaskView.class);
+        }
+
+        @Override
+        public void serialize(TaskView task, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeTask(generator, provider, task.getId(), task.getTitle(), task.getDescription(), task.isCompleted(),
+                    task.getPriority(), task.getDueDate(), task.getVersion());
+        }
+    }
+
+    private static void writeTask(JsonGenerator generator, SerializerProvider provider, Long id, String title,
+            String description, boolean completed, Priority priority, Date dueDate, Long version) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        writeLong(generator, id);
+        generator.writeFieldName(TITLE);
+        generator.writeString(title);
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(description);
+        generator.writeFieldName(COMPLETED);
+        generator.writeBoolean(completed);
+        generator.writeFieldName(PRIORITY);
+        writePriority(generator, provider, priority);
+        generator.writeFieldName(DUE_DATE);
+        writeDate(generator, provider, dueDate);
+        generator.writeFieldName(VERSION);
+        writeLong(generator, version);
+        generator.writeEndObject();
+    }
+
+    private static void writeLong(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writePriority(JsonGenerator generator, SerializerProvider provider, Priority priority)
+            throws IOException {
+        if (priority == null) {
+            generator.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_ENUMS_USING_INDEX)) {
+            generator.writeNumber(priority.ordinal());
+        } else {
+            generator.writeString(PRIORITY_NAMES[priority.ordinal()]);
+        }
+    }
+
+    private static void writeDate(JsonGenerator generator, SerializerProvider provider, Date date) throws IOException {
+        if (date == null) {
+            generator.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(date, generator);
+        } else if (date instanceof java.sql.Date sqlDate) {
+            // Hibernate loads DATE columns as java.sql.Date, which Jackson writes with toString():
+            // yyyy-MM-dd in the JVM's default time zone
+            if (isGregorianFourDigitYear(date)) {
+                char[] text = formatLocalDate(date.getTime());
+                generator.writeString(text, 0, text.length);
+            } else {
+                generator.writeString(sqlDate.toString());
+            }
+        } else if (isUtc(provider.getTimeZone()) && isGregorianFourDigitYear(date)) {
+            char[] text = formatUtc(date.getTime());
+            generator.writeString(text, 0, text.length);
+        } else {
+            provider.defaultSerializeValue(date, generator);
+        }
+    }
+
+    // Dates are written by filling in pre-punctuated templates: SimpleDateFormat and java.sql.Date's
+    // Calendar-based toString() dominated the cost of serializing a task
+    private static char[] formatUtc(long epochMillis) {
+        LocalDate day = LocalDate.ofEpochDay(Math.floorDiv(epochMillis, MILLIS_PER_DAY));
+        int millisOfDay = (int) Math.floorMod(epochMillis, MILLIS_PER_DAY);
+        char[] text = UTC_DATE_TIME_TEMPLATE.clone();
+        writeDigits(text, 0, 4, day.getYear());
+        writeDigits(text, 5, 2, day.getMonthValue());
+        writeDigits(text, 8, 2, day.getDayOfMonth());
+        writeDigits(text, 11, 2, millisOfDay / 3_600_000);
+        writeDigits(text, 14, 2, millisOfDay / 60_000 % 60);
+        writeDigits(text, 17, 2, millisOfDay / 1000 % 60);
+        writeDigits(text, 20, 3, millisOfDay % 1000);
+        return text;
+    }
+
+    private static char[] formatLocalDate(long epochMillis) {
+        LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+        char[] text = LOCAL_DATE_TEMPLATE.clone();
+        writeDigits(text, 0, 4, day.getYear());
+        writeDigits(text, 5, 2, day.getMonthValue());
+        writeDigits(text, 8, 2, day.getDayOfMonth());
+        return text;
+    }
+
+    private static void writeDigits(char[] text, int offset, int length, int value) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static boolean isGregorianFourDigitYear(Date date) {
+        return date.getTime() >= MIN_FAST_PATH_MILLIS && date.getTime() < MAX_FAST_PATH_MILLIS;
+    }
+
+    private static boolean isUtc(TimeZone timeZone) {
+        // Jackson's default; zones that merely sit at +00:00 today may have had other offsets in the past
+        return "UTC".equals(timeZone.getID()) || "GMT".equals(timeZone.getID());
+    }
+}
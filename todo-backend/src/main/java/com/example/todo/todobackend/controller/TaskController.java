@@ -1,64 +1,243 @@
 package com.example.todo.todobackend.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Date;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.web.PagedModel;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.todo.todobackend.dto.BatchItemResult;
+import com.example.todo.todobackend.dto.TaskFilter;
+import com.example.todo.todobackend.dto.TaskPage;
+import com.example.todo.todobackend.dto.TaskPatch;
+import com.example.todo.todobackend.dto.TaskSearchPage;
+import com.example.todo.todobackend.dto.TaskStats;
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.event.TaskChangedEvent;
 import com.example.todo.todobackend.model.Task;
 import com.example.todo.todobackend.model.Task.Priority;
+import com.example.todo.todobackend.repository.TaskSpecifications;
 import com.example.todo.todobackend.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import reactor.core.publisher.Flux;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/tasks")
 public class TaskController {
 
     @Autowired
     private TaskService taskService;
     
-    // Get all tasks
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Writer for single tasks, built on first use; ObjectWriter is immutable, so sharing it is safe
+    private ObjectWriter taskWriter;
+    
+    @Value("${todo.tasks.stream.heartbeat-interval:15s}")
+    private Duration streamHeartbeat = Duration.ofSeconds(15);
+    
+    // Bodies are negotiated between JSON, CBOR and Smile (see JacksonConfig), so caches must key on Accept.
+    // ETags carry the negotiated format too (TaskHttp.formatSuffix); If-Match accepts a task ETag in any format
+    @ModelAttribute
+    public void varyByAccept(HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+    
+    // Get all tasks; answers 304 while no task has changed since the client's ETag
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        List<Task> tasks = taskService.getAllTasks();
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+    public ResponseEntity<List<TaskView>> getAllTasks(WebRequest webRequest) {
+        String etag = collectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<TaskView> tasks = taskService.getAllTasks();
+        return ResponseEntity.ok().eTag(etag).body(tasks);
     }
     
-    // Get task by ID
+    // Get all tasks with only the requested fields, e.g. ?fields=id,title,priority
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllTaskFields(
+            @RequestParam List<String> fields,
+            WebRequest webRequest) {
+        String etag = TaskHttp.collectionETag(taskService.getChangeCount(), fields, formatSuffix());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok().eTag(etag).body(taskService.getTaskFields(fields, null));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Get a page of tasks using an opaque continuation cursor
+    @GetMapping("/page")
+    public ResponseEntity<TaskPage> getTasksPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        String etag = collectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            TaskPage page = taskService.getTasksPage(cursor, size);
+            return ResponseEntity.ok().eTag(etag).body(page);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Counts by priority and status, overdue counts and a due-month histogram, aggregated in the database
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getTaskStats() {
+        return new ResponseEntity<>(taskService.getTaskStats(), HttpStatus.OK);
+    }
+    
+    // Filter on any combination of priorities, completion status and a due-date range, with sort and paging
+    @GetMapping("/query")
+    public ResponseEntity<PagedModel<TaskView>> queryTasks(
+            @RequestParam(name = "priority", required = false) List<Priority> priorities,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date dueTo,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) List<String> sort) {
+        try {
+            TaskFilter filter = new TaskFilter(priorities, completed, dueFrom, dueTo);
+            return new ResponseEntity<>(new PagedModel<>(taskService.queryTasks(filter, page, size, sort)), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Search task titles and descriptions; every word must match, as a prefix
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchPage> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(taskService.searchTasks(q, page, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Export all tasks as newline-delimited JSON, streamed straight from the database
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        ObjectWriter writer = taskWriter();
+        StreamingResponseBody body = outputStream -> taskService.exportTasks(task -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(task));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    // Stream task changes as Server-Sent Events
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TaskChangedEvent>> streamTasks() {
+        return TaskHttp.serverSentEvents(taskService.streamTaskChanges(), streamHeartbeat);
+    }
+    
+    // Get task by ID; a matching If-None-Match is answered from the version column alone
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<Task> getTaskById(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = taskService.getTaskVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(TaskHttp.taskETag(version.get(), formatSuffix()))) {
+                return null;
+            }
+        }
         Optional<Task> task = taskService.getTaskById(id);
-        return task.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+        return task.map(value -> withETag(value, HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
     
     // Get tasks by priority
     @GetMapping("/priority/{priority}")
-    public ResponseEntity<List<Task>> getTasksByPriority(@PathVariable Priority priority) {
-        List<Task> tasks = taskService.getTasksByPriority(priority);
+    public ResponseEntity<List<TaskView>> getTasksByPriority(@PathVariable Priority priority) {
+        List<TaskView> tasks = taskService.getTasksByPriority(priority);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
     
     // Get tasks by completion status
     @GetMapping("/status/{completed}")
-    public ResponseEntity<List<Task>> getTasksByCompletionStatus(@PathVariable boolean completed) {
-        List<Task> tasks = taskService.getTasksByCompletionStatus(completed);
+    public ResponseEntity<List<TaskView>> getTasksByCompletionStatus(@PathVariable boolean completed) {
+        List<TaskView> tasks = taskService.getTasksByCompletionStatus(completed);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
     
     // Get tasks by priority and completion status
     @GetMapping("/priority/{priority}/status/{completed}")
-    public ResponseEntity<List<Task>> getTasksByPriorityAndStatus(
+    public ResponseEntity<List<TaskView>> getTasksByPriorityAndStatus(
             @PathVariable Priority priority, 
             @PathVariable boolean completed) {
-        List<Task> tasks = taskService.getTasksByPriorityAndStatus(priority, completed);
+        List<TaskView> tasks = taskService.getTasksByPriorityAndStatus(priority, completed);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
     
+    // Get tasks by priority with only the requested fields
+    @GetMapping(value = "/priority/{priority}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTaskFieldsByPriority(
+            @PathVariable Priority priority,
+            @RequestParam List<String> fields) {
+        return taskFields(fields, TaskSpecifications.priorityIn(List.of(priority)));
+    }
+    
+    // Get tasks by completion status with only the requested fields
+    @GetMapping(value = "/status/{completed}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTaskFieldsByCompletionStatus(
+            @PathVariable boolean completed,
+            @RequestParam List<String> fields) {
+        return taskFields(fields, TaskSpecifications.completed(completed));
+    }
+    
+    // Get tasks by priority and completion status with only the requested fields
+    @GetMapping(value = "/priority/{priority}/status/{completed}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTaskFieldsByPriorityAndStatus(
+            @PathVariable Priority priority,
+            @PathVariable boolean completed,
+            @RequestParam List<String> fields) {
+        return taskFields(fields, TaskSpecifications.priorityIn(List.of(priority))
+                .and(TaskSpecifications.completed(completed)));
+    }
+    
     // Create a new task
     @PostMapping
     public ResponseEntity<Task> createTask(@RequestBody Task task) {
@@ -66,14 +245,54 @@ public class TaskController {
         return new ResponseEntity<>(newTask, HttpStatus.CREATED);
     }
     
-    // Update an existing task
+    // Create several tasks in one transaction
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createTasks(@RequestBody List<Task> tasks) {
+        try {
+            List<BatchItemResult> results = taskService.createTasks(tasks);
+            return new ResponseEntity<>(results, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Partially update several tasks in one transaction; each item changes only the fields it contains
+    @PatchMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> updateTasks(@RequestBody List<TaskPatch> patches) {
+        try {
+            List<BatchItemResult> results = taskService.updateTasks(patches);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Delete several tasks in one transaction
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> deleteTasks(@RequestBody List<Long> ids) {
+        try {
+            List<BatchItemResult> results = taskService.deleteTasks(ids);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Update an existing task; If-Match makes the update conditional on the task's version
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task) {
+    public ResponseEntity<Task> updateTask(
+            @PathVariable Long id,
+            @RequestBody Task task,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Optional<Task> existingTask = taskService.getTaskById(id);
         if (existingTask.isPresent()) {
             task.setId(id);
+            task.setVersion(TaskHttp.ifMatchVersion(ifMatch));
             Task updatedTask = taskService.updateTask(task);
-            return new ResponseEntity<>(updatedTask, HttpStatus.OK);
+            if (updatedTask == null) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            return withETag(updatedTask, HttpStatus.OK);
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -82,9 +301,7 @@ public class TaskController {
     // Delete a task
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        Optional<Task> existingTask = taskService.getTaskById(id);
-        if (existingTask.isPresent()) {
-            taskService.deleteTask(id);
+        if (taskService.deleteTask(id)) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -93,82 +310,188 @@ public class TaskController {
     
     // Mark task as completed
     @PatchMapping("/{id}/complete")
-    public ResponseEntity<Task> markTaskCompleted(@PathVariable Long id) {
-        Task updatedTask = taskService.markTaskCompleted(id);
-        if (updatedTask != null) {
-            return new ResponseEntity<>(updatedTask, HttpStatus.OK);
-        } else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    public ResponseEntity<Task> markTaskCompleted(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = TaskHttp.PREFER_HEADER, required = false) String prefer) {
+        Long expectedVersion = TaskHttp.ifMatchVersion(ifMatch);
+        if (TaskHttp.prefersMinimalReturn(prefer)) {
+            return minimalResponse(taskService.setTaskCompleted(id, true, expectedVersion), expectedVersion);
         }
+        return patchedTask(taskService.markTaskCompleted(id, expectedVersion));
     }
     
     // Mark task as not completed
     @PatchMapping("/{id}/incomplete")
-    public ResponseEntity<Task> markTaskNotCompleted(@PathVariable Long id) {
-        Task updatedTask = taskService.markTaskNotCompleted(id);
-        if (updatedTask != null) {
-            return new ResponseEntity<>(updatedTask, HttpStatus.OK);
-        } else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    public ResponseEntity<Task> markTaskNotCompleted(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = TaskHttp.PREFER_HEADER, required = false) String prefer) {
+        Long expectedVersion = TaskHttp.ifMatchVersion(ifMatch);
+        if (TaskHttp.prefersMinimalReturn(prefer)) {
+            return minimalResponse(taskService.setTaskCompleted(id, false, expectedVersion), expectedVersion);
         }
+        return patchedTask(taskService.markTaskNotCompleted(id, expectedVersion));
     }
     
     // Update task priority
     @PatchMapping("/{id}/priority/{priority}")
     public ResponseEntity<Task> updateTaskPriority(
-            @PathVariable Long id, 
-            @PathVariable Priority priority) {
-        Task updatedTask = taskService.updateTaskPriority(id, priority);
-        if (updatedTask != null) {
-            return new ResponseEntity<>(updatedTask, HttpStatus.OK);
-        } else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            @PathVariable Long id,
+            @PathVariable Priority priority,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = TaskHttp.PREFER_HEADER, required = false) String prefer) {
+        Long expectedVersion = TaskHttp.ifMatchVersion(ifMatch);
+        if (TaskHttp.prefersMinimalReturn(prefer)) {
+            return minimalResponse(taskService.setTaskPriority(id, priority, expectedVersion), expectedVersion);
         }
+        return patchedTask(taskService.updateTaskPriority(id, priority, expectedVersion));
     }
     
     // Get tasks by due date
     @GetMapping("/due-date/{date}")
-    public ResponseEntity<List<Task>> getTasksByDueDate(
+    public ResponseEntity<List<TaskView>> getTasksByDueDate(
             @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") Date date) {
-        List<Task> tasks = taskService.getTasksByDueDate(date);
+        List<TaskView> tasks = taskService.getTasksByDueDate(date);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
     
     // Get tasks due before a specific date
     @GetMapping("/due-before/{date}")
-    public ResponseEntity<List<Task>> getTasksDueBefore(
+    public ResponseEntity<List<TaskView>> getTasksDueBefore(
             @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") Date date) {
-        List<Task> tasks = taskService.getTasksDueBefore(date);
+        List<TaskView> tasks = taskService.getTasksDueBefore(date);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
     
     // Get tasks due after a specific date
     @GetMapping("/due-after/{date}")
-    public ResponseEntity<List<Task>> getTasksDueAfter(
+    public ResponseEntity<List<TaskView>> getTasksDueAfter(
             @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") Date date) {
-        List<Task> tasks = taskService.getTasksDueAfter(date);
+        List<TaskView> tasks = taskService.getTasksDueAfter(date);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
     
     // Get tasks by priority and due date
     @GetMapping("/priority/{priority}/due-date/{date}")
-    public ResponseEntity<List<Task>> getTasksByPriorityAndDueDate(
+    public ResponseEntity<List<TaskView>> getTasksByPriorityAndDueDate(
             @PathVariable Priority priority,
             @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") Date date) {
-        List<Task> tasks = taskService.getTasksByPriorityAndDueDate(priority, date);
+        List<TaskView> tasks = taskService.getTasksByPriorityAndDueDate(priority, date);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
     
+    // Get tasks by due date with only the requested fields
+    @GetMapping(value = "/due-date/{date}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTaskFieldsByDueDate(
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") Date date,
+            @RequestParam List<String> fields) {
+        return taskFields(fields, TaskSpecifications.dueOn(date));
+    }
+    
+    // Get tasks due before a specific date with only the requested fields
+    @GetMapping(value = "/due-before/{date}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTaskFieldsDueBefore(
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") Date date,
+            @RequestParam List<String> fields) {
+        return taskFields(fields, TaskSpecifications.dueBefore(date));
+    }
+    
+    // Get tasks due after a specific date with only the requested fields
+    @GetMapping(value = "/due-after/{date}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTaskFieldsDueAfter(
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") Date date,
+            @RequestParam List<String> fields) {
+        return taskFields(fields, TaskSpecifications.dueAfter(date));
+    }
+    
+    // Get tasks by priority and due date with only the requested fields
+    @GetMapping(value = "/priority/{priority}/due-date/{date}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTaskFieldsByPriorityAndDueDate(
+            @PathVariable Priority priority,
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") Date date,
+            @RequestParam List<String> fields) {
+        return taskFields(fields, TaskSpecifications.priorityIn(List.of(priority))
+                .and(TaskSpecifications.dueOn(date)));
+    }
+    
     // Update task due date
     @PatchMapping("/{id}/due-date")
     public ResponseEntity<Task> updateTaskDueDate(
             @PathVariable Long id,
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") Date dueDate) {
-        Task updatedTask = taskService.updateTaskDueDate(id, dueDate);
-        if (updatedTask != null) {
-            return new ResponseEntity<>(updatedTask, HttpStatus.OK);
-        } else {
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") Date dueDate,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = TaskHttp.PREFER_HEADER, required = false) String prefer) {
+        Long expectedVersion = TaskHttp.ifMatchVersion(ifMatch);
+        if (TaskHttp.prefersMinimalReturn(prefer)) {
+            return minimalResponse(taskService.setTaskDueDate(id, dueDate, expectedVersion), expectedVersion);
+        }
+        return patchedTask(taskService.updateTaskDueDate(id, dueDate, expectedVersion));
+    }
+    
+    private ObjectWriter taskWriter() {
+        if (taskWriter == null) {
+            taskWriter = objectMapper.writerFor(Task.class);
+        }
+        return taskWriter;
+    }
+    
+    private ResponseEntity<List<Map<String, Object>>> taskFields(List<String> fields, Specification<Task> filter) {
+        try {
+            return new ResponseEntity<>(taskService.getTaskFields(fields, filter), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // 204 straight from the UPDATE's row count, with the new ETag when If-Match pinned the version
+    private ResponseEntity<Task> minimalResponse(boolean updated, Long expectedVersion) {
+        if (!updated) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        Long version = TaskHttp.versionAfterUpdate(expectedVersion);
+        if (version == null) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).eTag(TaskHttp.taskETag(version, formatSuffix())).build();
+    }
+    
+    private ResponseEntity<Task> patchedTask(Task task) {
+        if (task == null) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
+        return withETag(task, HttpStatus.OK);
+    }
+    
+    // A stale If-Match
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleVersionConflict() {
+        return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+    }
+    
+    // Concurrent writes that outlived the retries of an unconditional PUT; no precondition was sent
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Void> handleConcurrentWrites() {
+        return new ResponseEntity<>(HttpStatus.CONFLICT);
+    }
+    
+    // Weak ETag for task collections, derived from the task_changes_seq change counter
+    private String collectionETag() {
+        return TaskHttp.collectionETag(taskService.getChangeCount(), formatSuffix());
+    }
+    
+    // ETag suffix for the format the current request's Accept header negotiates; JSON outside a request
+    private String formatSuffix() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return "";
+        }
+        return TaskHttp.formatSuffix(attributes.getRequest().getHeader(HttpHeaders.ACCEPT));
+    }
+    
+    private ResponseEntity<Task> withETag(Task task, HttpStatus status) {
+        if (task.getVersion() == null) {
+            return new ResponseEntity<>(task, status);
+        }
+        return ResponseEntity.status(status).eTag(TaskHttp.taskETag(task.getVersion(), formatSuffix())).body(task);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,294 @@
+package com.example.todo.todobackend.controller;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.example.todo.todobackend.event.TaskChangedEvent;
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.model.Task.Priority;
+import com.example.todo.todobackend.repository.ReactiveTaskRepository;
+import com.example.todo.todobackend.service.TaskEventBroadcaster;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Non-blocking handlers for the task endpoints of the "reactive" profile, routed by TaskRouter.
+ * They mirror TaskController and its HTTP semantics (ETags, If-Match, Prefer) on top of
+ * ReactiveTaskRepository, so no request ever holds a thread while waiting on the database.
+ */
+@Component
+@Profile("reactive")
+public class TaskHandler {
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TaskEventBroadcaster eventBroadcaster;
+    
+    // Hard cap on the unpaginated listing
+    @Value("${todo.tasks.max-list-size:1000}")
+    private int maxListSize = 1000;
+    
+    // Attempts for a PUT that did not pin a version before a concurrent write is reported as a conflict
+    @Value("${todo.tasks.update.max-attempts:3}")
+    private int maxUpdateAttempts = 3;
+    
+    @Value("${todo.tasks.stream.heartbeat-interval:15s}")
+    private Duration streamHeartbeat = Duration.ofSeconds(15);
+    
+    // Get all tasks; answers 304 while no task has changed since the client's ETag
+    public Mono<ServerResponse> getAllTasks(ServerRequest request) {
+        return taskRepository.findChangeCount().flatMap(changeCount -> {
+            String etag = TaskHttp.collectionETag(changeCount);
+            return request.checkNotModified(etag)
+                    .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                            .eTag(etag)
+                            .body(taskRepository.findAllByOrderByIdAsc().take(maxListSize), Task.class)));
+        });
+    }
+    
+    // Export all tasks as newline-delimited JSON, streamed straight from the database
+    public Mono<ServerResponse> exportTasks(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(taskRepository.findAllByOrderByIdAsc(), Task.class);
+    }
+    
+    // Stream task changes as Server-Sent Events
+    public Mono<ServerResponse> streamTasks(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(
+                        TaskHttp.serverSentEvents(eventBroadcaster.subscribe(), streamHeartbeat)));
+    }
+    
+    // Get task by ID
+    public Mono<ServerResponse> getTaskById(ServerRequest request) {
+        return taskRepository.findById(taskId(request))
+                .flatMap(task -> request.checkNotModified(TaskHttp.taskETag(task.getVersion()))
+                        .switchIfEmpty(Mono.defer(() -> withETag(ServerResponse.ok(), task))))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+    
+    // Get tasks by priority
+    public Mono<ServerResponse> getTasksByPriority(ServerRequest request) {
+        return tasks(taskRepository.findByPriority(priority(request)));
+    }
+    
+    // Get tasks by completion status
+    public Mono<ServerResponse> getTasksByCompletionStatus(ServerRequest request) {
+        return tasks(taskRepository.findByCompleted(completed(request)));
+    }
+    
+    // Get tasks by priority and completion status
+    public Mono<ServerResponse> getTasksByPriorityAndStatus(ServerRequest request) {
+        return tasks(taskRepository.findByPriorityAndCompleted(priority(request), completed(request)));
+    }
+    
+    // Get tasks by due date
+    public Mono<ServerResponse> getTasksByDueDate(ServerRequest request) {
+        return tasks(taskRepository.findByDueDate(date(request.pathVariable("date"))));
+    }
+    
+    // Get tasks due before a specific date
+    public Mono<ServerResponse> getTasksDueBefore(ServerRequest request) {
+        return tasks(taskRepository.findByDueDateBefore(date(request.pathVariable("date"))));
+    }
+    
+    // Get tasks due after a specific date
+    public Mono<ServerResponse> getTasksDueAfter(ServerRequest request) {
+        return tasks(taskRepository.findByDueDateAfter(date(request.pathVariable("date"))));
+    }
+    
+    // Get tasks by priority and due date
+    public Mono<ServerResponse> getTasksByPriorityAndDueDate(ServerRequest request) {
+        return tasks(taskRepository.findByPriorityAndDueDate(priority(request), date(request.pathVariable("date"))));
+    }
+    
+    // Create a new task; ids come from the same sequence as the JPA stack
+    public Mono<ServerResponse> createTask(ServerRequest request) {
+        return request.bodyToMono(Task.class)
+                .flatMap(task -> {
+                    task.setId(null);
+                    task.setVersion(0L);
+                    return taskRepository.save(task)
+                            .flatMap(saved -> taskRepository.incrementChangeCount().thenReturn(saved));
+                })
+                .doOnNext(task -> publish(TaskChangedEvent.Type.CREATED, task.getId()))
+                .flatMap(task -> withETag(ServerResponse.status(HttpStatus.CREATED), task));
+    }
+    
+    // Update an existing task; If-Match makes the update conditional on the task's version (412 when stale),
+    // otherwise the latest version is read and the save retried on concurrent writes (409 when they persist).
+    // A task deleted meanwhile is 404 either way.
+    public Mono<ServerResponse> updateTask(ServerRequest request) {
+        Long id = taskId(request);
+        Long expectedVersion = TaskHttp.ifMatchVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return request.bodyToMono(Task.class)
+                .flatMap(task -> Mono.defer(() -> taskRepository.findVersionById(id)
+                                .flatMap(currentVersion -> taskRepository.updateTask(id, task.getTitle(),
+                                        task.getDescription(), task.isCompleted(), task.getPriority(), task.getDueDate(),
+                                        expectedVersion != null ? expectedVersion : currentVersion))
+                                .flatMap(rows -> rows == 0
+                                        ? taskRepository.existsById(id).flatMap(exists -> exists
+                                                ? Mono.<Task>error(new OptimisticLockingFailureException(
+                                                        "Task " + id + " was modified concurrently"))
+                                                : Mono.<Task>empty())
+                                        : taskRepository.findById(id)))
+                        .retryWhen(Retry.max(expectedVersion != null ? 0 : maxUpdateAttempts - 1)
+                                .filter(OptimisticLockingFailureException.class::isInstance)
+                                .onRetryExhaustedThrow((spec, signal) -> expectedVersion != null
+                                        ? signal.failure()
+                                        : new ConcurrencyFailureException("Task " + id + " was modified concurrently "
+                                                + maxUpdateAttempts + " times in a row", signal.failure()))))
+                .flatMap(task -> taskRepository.incrementChangeCount().thenReturn(task))
+                .doOnNext(task -> publish(TaskChangedEvent.Type.UPDATED, task.getId()))
+                .flatMap(task -> withETag(ServerResponse.ok(), task))
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(OptimisticLockingFailureException.class, e -> preconditionFailed())
+                .onErrorResume(ConcurrencyFailureException.class, e -> ServerResponse.status(HttpStatus.CONFLICT).build());
+    }
+    
+    // Delete a task; only a delete that removed the row is counted and published
+    public Mono<ServerResponse> deleteTask(ServerRequest request) {
+        Long id = taskId(request);
+        return taskRepository.deleteTaskById(id)
+                .flatMap(rows -> rows > 0
+                        ? taskRepository.incrementChangeCount()
+                                .then(Mono.fromRunnable(() -> publish(TaskChangedEvent.Type.DELETED, id)))
+                                .then(ServerResponse.noContent().build())
+                        : ServerResponse.notFound().build());
+    }
+    
+    // Mark task as completed
+    public Mono<ServerResponse> markTaskCompleted(ServerRequest request) {
+        return patch(request, (id, version) -> taskRepository.updateCompleted(id, true, version));
+    }
+    
+    // Mark task as not completed
+    public Mono<ServerResponse> markTaskNotCompleted(ServerRequest request) {
+        return patch(request, (id, version) -> taskRepository.updateCompleted(id, false, version));
+    }
+    
+    // Update task priority
+    public Mono<ServerResponse> updateTaskPriority(ServerRequest request) {
+        Priority priority = priority(request);
+        return patch(request, (id, version) -> taskRepository.updatePriority(id, priority, version));
+    }
+    
+    // Update task due date
+    public Mono<ServerResponse> updateTaskDueDate(ServerRequest request) {
+        Date dueDate = date(request.queryParam("dueDate")
+                .orElseThrow(() -> new ServerWebInputException("Missing request parameter 'dueDate'")));
+        return patch(request, (id, version) -> taskRepository.updateDueDate(id, dueDate, version));
+    }
+    
+    // Run a single-column UPDATE and answer like the MVC PATCH endpoints: 412 for a stale If-Match,
+    // 404 for a missing task, 204 for "Prefer: return=minimal", otherwise the updated task
+    private Mono<ServerResponse> patch(ServerRequest request, SingleColumnUpdate update) {
+        Long id = taskId(request);
+        Long expectedVersion = TaskHttp.ifMatchVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        boolean minimal = TaskHttp.prefersMinimalReturn(request.headers().firstHeader(TaskHttp.PREFER_HEADER));
+        return update.apply(id, expectedVersion)
+                .flatMap(rows -> rows == 0 ? Mono.just(rows) : taskRepository.incrementChangeCount().thenReturn(rows))
+                .flatMap(rows -> {
+                    if (rows == 0) {
+                        return expectedVersion == null
+                                ? ServerResponse.notFound().build()
+                                : taskRepository.existsById(id).flatMap(exists -> exists
+                                        ? preconditionFailed()
+                                        : ServerResponse.notFound().build());
+                    }
+                    publish(TaskChangedEvent.Type.UPDATED, id);
+                    if (minimal) {
+                        Long version = TaskHttp.versionAfterUpdate(expectedVersion);
+                        return version == null
+                                ? ServerResponse.noContent().build()
+                                : ServerResponse.noContent().eTag(TaskHttp.taskETag(version)).build();
+                    }
+                    return taskRepository.findById(id)
+                            .flatMap(task -> withETag(ServerResponse.ok(), task))
+                            .switchIfEmpty(ServerResponse.notFound().build());
+                });
+    }
+    
+    private Mono<ServerResponse> tasks(Flux<Task> tasks) {
+        return ServerResponse.ok().body(tasks, Task.class);
+    }
+    
+    private static Mono<ServerResponse> withETag(ServerResponse.BodyBuilder builder, Task task) {
+        if (task.getVersion() != null) {
+            builder.eTag(TaskHttp.taskETag(task.getVersion()));
+        }
+        return builder.bodyValue(task);
+    }
+    
+    private static Mono<ServerResponse> preconditionFailed() {
+        return ServerResponse.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+    
+    private void publish(TaskChangedEvent.Type type, Long id) {
+        eventPublisher.publishEvent(new TaskChangedEvent(type, id));
+    }
+    
+    private static Long taskId(ServerRequest request) {
+        try {
+            return Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid task id");
+        }
+    }
+    
+    private static Priority priority(ServerRequest request) {
+        try {
+            return Priority.valueOf(request.pathVariable("priority"));
+        } catch (IllegalArgumentException e) {
+            throw new ServerWebInputException("Invalid priority");
+        }
+    }
+    
+    private static boolean completed(ServerRequest request) {
+        String value = request.pathVariable("completed");
+        if (!value.equals("true") && !value.equals("false")) {
+            throw new ServerWebInputException("Invalid completion status");
+        }
+        return Boolean.parseBoolean(value);
+    }
+    
+    // Dates use the same yyyy-MM-dd format as the MVC endpoints
+    private static Date date(String value) {
+        try {
+            return java.sql.Date.valueOf(LocalDate.parse(value));
+        } catch (DateTimeParseException e) {
+            throw new ServerWebInputException("Invalid date '" + value + "', expected yyyy-MM-dd");
+        }
+    }
+    
+    @FunctionalInterface
+    private interface SingleColumnUpdate {
+        Mono<Integer> apply(Long id, Long expectedVersion);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.todo.todobackend.controller;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.todo.todobackend.event.TaskChangedEvent;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * HTTP conventions shared by the MVC controller and the reactive router: ETags, If-Match,
+ * the Prefer header and the shape of the change stream.
+ */
+final class TaskHttp {
+
+    static final String PREFER_HEADER = "Prefer";
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final String CBOR_SUFFIX = "-cbor";
+    private static final String SMILE_SUFFIX = "-smile";
+
+    private TaskHttp() {
+    }
+
+    // Strong ETag for the JSON body of a single task, derived from its version column
+    static String taskETag(long version) {
+        return taskETag(version, "");
+    }
+
+    // Strong ETag for a single task in the format named by the suffix (see formatSuffix)
+    static String taskETag(long version, String formatSuffix) {
+        return "\"" + version + formatSuffix + "\"";
+    }
+
+    // Weak ETag for task collections, derived from the task_changes_seq change counter. Collections are only
+    // revalidated with If-None-Match, which compares weakly, and a weak tag lets the connector gzip
+    // the body (Tomcat leaves responses with a strong ETag uncompressed)
+    static String collectionETag(long changeCount) {
+        return collectionETag(changeCount, "");
+    }
+
+    // Weak ETag for task collections in the format named by the suffix
+    static String collectionETag(long changeCount, String formatSuffix) {
+        return "W/\"tasks-" + changeCount + formatSuffix + "\"";
+    }
+
+    // Weak ETag for a sparse-fieldset collection; the requested fields are hashed in because each
+    // field list is a different representation, and raw field names could break the header
+    static String collectionETag(long changeCount, List<String> fields, String formatSuffix) {
+        return "W/\"tasks-" + changeCount + "-" + Integer.toHexString(String.join(",", fields).hashCode())
+                + formatSuffix + "\"";
+    }
+
+    // ETag suffix for the format the Accept header negotiates (see JacksonConfig): none for JSON, the
+    // default, otherwise "-cbor" or "-smile". One version yields different bytes in each format, and a cache
+    // holding several of them under Vary: Accept picks the one to reuse after a 304 by its ETag alone.
+    // Mirrors Spring's negotiation: the most specific, highest quality type wins, and wildcards mean JSON.
+    static String formatSuffix(String accept) {
+        if (accept == null) {
+            return "";
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(acceptedTypes);
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (acceptedType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return CBOR_SUFFIX;
+            }
+            if (acceptedType.isCompatibleWith(SMILE)) {
+                return SMILE_SUFFIX;
+            }
+        }
+        return "";
+    }
+
+    // Version named by an If-Match header; null when the header is absent or "*".
+    // The tag may carry any format suffix: the version is what the update is conditional on
+    static Long ifMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String value = tag.substring(1, tag.length() - 1);
+            if (value.endsWith(CBOR_SUFFIX) || value.endsWith(SMILE_SUFFIX)) {
+                value = value.substring(0, value.lastIndexOf('-'));
+            }
+            try {
+                return Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                // not one of our task ETags
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not name a task version");
+    }
+
+    // "Prefer: return=minimal" (RFC 7240) answers a single-field PATCH with 204 from the UPDATE alone,
+    // skipping the second query that reads the task back for the default 200
+    static boolean prefersMinimalReturn(String prefer) {
+        return prefer != null && prefer.contains("return=minimal");
+    }
+
+    // Version a conditional single-field update leaves behind: the UPDATE bumps the one it matched.
+    // Unknown without If-Match, as the statement does not return the row
+    static Long versionAfterUpdate(Long expectedVersion) {
+        return expectedVersion == null ? null : expectedVersion + 1;
+    }
+
+    // Task changes as Server-Sent Events, with a comment line as heartbeat so proxies keep
+    // the connection open; the heartbeat stops when the change stream completes
+    static Flux<ServerSentEvent<TaskChangedEvent>> serverSentEvents(Flux<TaskChangedEvent> changes, Duration heartbeat) {
+        return changes.publish(shared -> Flux.merge(
+                shared.map(event -> ServerSentEvent.builder(event)
+                        .event(event.getType().name().toLowerCase())
+                        .build()),
+                Flux.interval(heartbeat)
+                        .map(tick -> ServerSentEvent.<TaskChangedEvent>builder().comment("heartbeat").build())
+                        .takeUntilOther(shared.then())));
+    }
+}
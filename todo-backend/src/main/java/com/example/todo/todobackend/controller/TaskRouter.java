@@ -0,0 +1,43 @@
+package com.example.todo.todobackend.controller;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Functional routes for the "reactive" profile; same paths as TaskController.
+ * Literal segments are registered before the {id} patterns they would otherwise match.
+ */
+@Configuration
+@Profile("reactive")
+public class TaskRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> taskRoutes(TaskHandler handler) {
+        return route()
+                .path("/tasks", builder -> builder
+                        .GET("", handler::getAllTasks)
+                        .GET("/export", handler::exportTasks)
+                        .GET("/stream", handler::streamTasks)
+                        .GET("/priority/{priority}/status/{completed}", handler::getTasksByPriorityAndStatus)
+                        .GET("/priority/{priority}/due-date/{date}", handler::getTasksByPriorityAndDueDate)
+                        .GET("/priority/{priority}", handler::getTasksByPriority)
+                        .GET("/status/{completed}", handler::getTasksByCompletionStatus)
+                        .GET("/due-date/{date}", handler::getTasksByDueDate)
+                        .GET("/due-before/{date}", handler::getTasksDueBefore)
+                        .GET("/due-after/{date}", handler::getTasksDueAfter)
+                        .GET("/{id}", handler::getTaskById)
+                        .POST("", handler::createTask)
+                        .PUT("/{id}", handler::updateTask)
+                        .DELETE("/{id}", handler::deleteTask)
+                        .PATCH("/{id}/complete", handler::markTaskCompleted)
+                        .PATCH("/{id}/incomplete", handler::markTaskNotCompleted)
+                        .PATCH("/{id}/priority/{priority}", handler::updateTaskPriority)
+                        .PATCH("/{id}/due-date", handler::updateTaskDueDate))
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.todo.todobackend.dto;
+
+/**
+ * Outcome of a single item in a batch request, reported at the item's position in the request.
+ */
+public class BatchItemResult {
+
+    // Result status
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        // The item's version is no longer the stored one; the task was left unchanged
+        CONFLICT
+    }
+
+    private final int index;
+    private final Long id;
+    private final Status status;
+
+    public BatchItemResult(int index, Long id, Status status) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+}
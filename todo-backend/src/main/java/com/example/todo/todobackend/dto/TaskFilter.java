@@ -0,0 +1,59 @@
+package com.example.todo.todobackend.dto;
+
+import java.util.Date;
+import java.util.List;
+
+import com.example.todo.todobackend.model.Task.Priority;
+
+/**
+ * Criteria for GET /tasks/query. Every field is optional; the ones that are set must all match.
+ */
+public class TaskFilter {
+
+    private List<Priority> priorities;
+    private Boolean completed;
+    private Date dueFrom;
+    private Date dueTo;
+
+    public TaskFilter() {
+    }
+
+    public TaskFilter(List<Priority> priorities, Boolean completed, Date dueFrom, Date dueTo) {
+        this.priorities = priorities;
+        this.completed = completed;
+        this.dueFrom = dueFrom;
+        this.dueTo = dueTo;
+    }
+
+    public List<Priority> getPriorities() {
+        return priorities;
+    }
+
+    public void setPriorities(List<Priority> priorities) {
+        this.priorities = priorities;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public Date getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(Date dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public Date getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(Date dueTo) {
+        this.dueTo = dueTo;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.todo.todobackend.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated task listing.
+ * The next cursor is opaque to clients and is null on the last page.
+ */
+public class TaskPage {
+
+    private final List<TaskView> items;
+    private final String nextCursor;
+
+    public TaskPage(List<TaskView> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskView> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getSize() {
+        return items.size();
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
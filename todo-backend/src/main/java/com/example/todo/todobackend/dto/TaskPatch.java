@@ -0,0 +1,107 @@
+package com.example.todo.todobackend.dto;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.model.Task.Priority;
+
+/**
+ * One item of a PATCH /tasks/batch request: the id of the task, the fields to change and, optionally,
+ * the version the change was based on. Only the fields present in the JSON are applied; Jackson calls
+ * a setter for every property it reads, including an explicit null, so a present null clears the field.
+ */
+public class TaskPatch {
+
+    private Long id;
+    private Long version;
+    private String title;
+    private String description;
+    private Boolean completed;
+    private Priority priority;
+    private Date dueDate;
+
+    // Names of the task fields set on this patch
+    private final Set<String> presentFields = new HashSet<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        presentFields.add("title");
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        presentFields.add("description");
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+        presentFields.add("completed");
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+        presentFields.add("priority");
+    }
+
+    public Date getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(Date dueDate) {
+        this.dueDate = dueDate;
+        presentFields.add("dueDate");
+    }
+
+    // completed is a primitive column, so a null leaves it unchanged rather than failing the batch
+    public void applyTo(Task task) {
+        if (presentFields.contains("title")) {
+            task.setTitle(title);
+        }
+        if (presentFields.contains("description")) {
+            task.setDescription(description);
+        }
+        if (completed != null) {
+            task.setCompleted(completed);
+        }
+        if (presentFields.contains("priority")) {
+            task.setPriority(priority);
+        }
+        if (presentFields.contains("dueDate")) {
+            task.setDueDate(dueDate);
+        }
+    }
+}
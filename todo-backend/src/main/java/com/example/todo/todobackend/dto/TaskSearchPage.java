@@ -0,0 +1,41 @@
+package com.example.todo.todobackend.dto;
+
+import java.util.List;
+
+/**
+ * One page of full-text search results, most relevant first.
+ */
+public class TaskSearchPage {
+
+    private final List<TaskView> items;
+    private final int page;
+    private final int pageSize;
+    private final long totalHits;
+
+    public TaskSearchPage(List<TaskView> items, int page, int pageSize, long totalHits) {
+        this.items = items;
+        this.page = page;
+        this.pageSize = pageSize;
+        this.totalHits = totalHits;
+    }
+
+    public List<TaskView> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return items.size();
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public boolean isHasMore() {
+        return (long) (page + 1) * pageSize < totalHits;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.todo.todobackend.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.example.todo.todobackend.model.Task.Priority;
+
+/**
+ * Task counts for dashboards, computed with GROUP BY queries instead of transferring tasks.
+ * Overdue means open and due before the date the statistics were computed for; the due-month
+ * histogram ("yyyy-MM" keys in ascending order) only counts open tasks.
+ */
+public class TaskStats {
+
+    private final LocalDate date;
+    private final Map<Priority, StatusCounts> byPriority;
+    private final long completed;
+    private final long open;
+    private final Map<Priority, Long> overdueByPriority;
+    private final long overdue;
+    private final Map<String, Long> openByDueMonth;
+    private final long openWithoutDueDate;
+
+    public TaskStats(LocalDate date, Map<Priority, StatusCounts> byPriority, long completed, long open,
+            Map<Priority, Long> overdueByPriority, long overdue,
+            Map<String, Long> openByDueMonth, long openWithoutDueDate) {
+        this.date = date;
+        this.byPriority = byPriority;
+        this.completed = completed;
+        this.open = open;
+        this.overdueByPriority = overdueByPriority;
+        this.overdue = overdue;
+        this.openByDueMonth = openByDueMonth;
+        this.openWithoutDueDate = openWithoutDueDate;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getTotal() {
+        return completed + open;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getOpen() {
+        return open;
+    }
+
+    public Map<Priority, StatusCounts> getByPriority() {
+        return byPriority;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public Map<Priority, Long> getOverdueByPriority() {
+        return overdueByPriority;
+    }
+
+    public Map<String, Long> getOpenByDueMonth() {
+        return openByDueMonth;
+    }
+
+    public long getOpenWithoutDueDate() {
+        return openWithoutDueDate;
+    }
+
+    /**
+     * Completed and open counts for one priority.
+     */
+    public static class StatusCounts {
+
+        private long completed;
+        private long open;
+
+        public void add(boolean completed, long count) {
+            if (completed) {
+                this.completed += count;
+            } else {
+                this.open += count;
+            }
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getOpen() {
+            return open;
+        }
+
+        public long getTotal() {
+            return completed + open;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.todo.todobackend.dto;
+
+import java.util.Date;
+
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.model.Task.Priority;
+
+/**
+ * Read-only copy of a task's columns, returned by the list queries instead of managed entities.
+ * Hibernate builds it straight from the result set, so nothing enters the persistence context
+ * and there is no snapshot to keep or dirty-check. Serializes to the same JSON as Task.
+ */
+public class TaskView {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final boolean completed;
+    private final Priority priority;
+    private final Date dueDate;
+    private final Long version;
+
+    public TaskView(Long id, String title, String description, boolean completed, Priority priority,
+            Date dueDate, Long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.version = version;
+    }
+
+    public static TaskView of(Task task) {
+        return new TaskView(task.getId(), task.getTitle(), task.getDescription(), task.isCompleted(),
+                task.getPriority(), task.getDueDate(), task.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public Date getDueDate() {
+        return dueDate;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
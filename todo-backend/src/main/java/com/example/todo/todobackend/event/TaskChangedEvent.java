@@ -0,0 +1,30 @@
+package com.example.todo.todobackend.event;
+
+/**
+ * Published by TaskService after a task is created, updated or deleted.
+ */
+public class TaskChangedEvent {
+
+    // Kind of change
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long taskId;
+
+    public TaskChangedEvent(Type type, Long taskId) {
+        this.type = type;
+        this.taskId = taskId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+}
@@ -1,29 +1,59 @@
 package com.example.todo.todobackend.model;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.util.Date;
 
+import com.example.todo.todobackend.config.CacheConfig;
+
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    // Leading priority column also serves findByPriority
+    @Index(name = "idx_tasks_priority_completed", columnList = "priority, completed"),
+    @Index(name = "idx_tasks_priority_due_date", columnList = "priority, due_date"),
+    // Leading completed column serves findByCompleted and open-task due-date filters
+    @Index(name = "idx_tasks_completed_due_date", columnList = "completed, due_date"),
+    @Index(name = "idx_tasks_due_date", columnList = "due_date")
+})
+// Second-level cached by id; READ_WRITE keeps the cache consistent with concurrent transactions
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.TASK_ENTITY_REGION)
+// Spring Data mapping for ReactiveTaskRepository, used by the R2DBC-backed "reactive" profile
+@org.springframework.data.relational.core.mapping.Table("tasks")
 public class Task {
     
+    // Ids are allocated in blocks from a sequence so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @org.springframework.data.annotation.Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     private String title;
     private String description;
     private boolean completed;
     
+    // Plain VARCHAR rather than H2's native ENUM, so the R2DBC driver can bind it too
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(name = "priority")
     private Priority priority;
     
@@ -31,6 +61,13 @@ public class Task {
     @Column(name = "due_date")
     private Date dueDate;
     
+    // Incremented on every write; exposed to clients as the task's ETag.
+    // The column default backfills rows that existed before the column was added.
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version")
+    private Long version;
+    
     // Priority enum
     public enum Priority {
         LOW, 
@@ -113,4 +150,12 @@ public class Task {
     public void setDueDate(Date dueDate) {
         this.dueDate = dueDate;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.example.todo.todobackend.repository;
+
+import java.util.Date;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.model.Task.Priority;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of TaskRepository over R2DBC, only active with the "reactive" profile.
+ * Finders return unbounded Fluxes; callers cap them with take(), which cancels the query.
+ */
+@Repository
+@Profile("reactive")
+public interface ReactiveTaskRepository extends ReactiveCrudRepository<Task, Long> {
+    
+    // All tasks in id order
+    Flux<Task> findAllByOrderByIdAsc();
+    
+    // Read only the version column, used to answer conditional requests without loading the row
+    @Query("select version from tasks where id = :id")
+    Mono<Long> findVersionById(@Param("id") Long id);
+    
+    // Change count of the tasks table, used as the collection ETag: the value task_changes_seq hands out next
+    @Query("select base_value from information_schema.sequences where sequence_name = 'TASK_CHANGES_SEQ'")
+    Mono<Long> findChangeCount();
+    
+    // Bump the change count; run it after the write it accounts for has committed
+    @Query("select next value for task_changes_seq")
+    Mono<Long> incrementChangeCount();
+    
+    // Delete a task, returning the rows removed: 0 when it was already gone
+    @Modifying
+    @Query("delete from tasks where id = :id")
+    Mono<Integer> deleteTaskById(@Param("id") Long id);
+    
+    // Find tasks by priority
+    Flux<Task> findByPriority(Priority priority);
+    
+    // Find tasks by completion status
+    Flux<Task> findByCompleted(boolean completed);
+    
+    // Find tasks by priority and completion status
+    Flux<Task> findByPriorityAndCompleted(Priority priority, boolean completed);
+    
+    // Find tasks by due date
+    Flux<Task> findByDueDate(Date dueDate);
+    
+    // Find tasks due before a specific date
+    Flux<Task> findByDueDateBefore(Date date);
+    
+    // Find tasks due after a specific date
+    Flux<Task> findByDueDateAfter(Date date);
+    
+    // Find tasks by priority and due date
+    Flux<Task> findByPriorityAndDueDate(Priority priority, Date dueDate);
+    
+    // Full update used by PUT; the version is bumped here because Spring Data R2DBC's own
+    // optimistic locking needs an annotation Spring Data JPA rejects on the shared entity
+    @Modifying
+    @Query("update tasks set title = :title, description = :description, completed = :completed, "
+            + "priority = :priority, due_date = :dueDate, version = version + 1 "
+            + "where id = :id and version = :version")
+    Mono<Integer> updateTask(@Param("id") Long id, @Param("title") String title,
+            @Param("description") String description, @Param("completed") boolean completed,
+            @Param("priority") Priority priority, @Param("dueDate") Date dueDate, @Param("version") Long version);
+    
+    // Single-column updates that also bump the version; a non-null version makes them conditional
+    @Modifying
+    @Query("update tasks set completed = :completed, version = version + 1 "
+            + "where id = :id and (cast(:version as bigint) is null or version = :version)")
+    Mono<Integer> updateCompleted(@Param("id") Long id, @Param("completed") boolean completed, @Param("version") Long version);
+    
+    @Modifying
+    @Query("update tasks set priority = :priority, version = version + 1 "
+            + "where id = :id and (cast(:version as bigint) is null or version = :version)")
+    Mono<Integer> updatePriority(@Param("id") Long id, @Param("priority") Priority priority, @Param("version") Long version);
+    
+    @Modifying
+    @Query("update tasks set due_date = :dueDate, version = version + 1 "
+            + "where id = :id and (cast(:version as bigint) is null or version = :version)")
+    Mono<Integer> updateDueDate(@Param("id") Long id, @Param("dueDate") Date dueDate, @Param("version") Long version);
+}
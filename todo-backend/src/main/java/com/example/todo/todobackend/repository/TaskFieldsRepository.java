@@ -0,0 +1,21 @@
+package com.example.todo.todobackend.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.todo.todobackend.model.Task;
+
+/**
+ * Sparse-fieldset queries, mixed into TaskRepository and implemented in TaskFieldsRepositoryImpl.
+ * Only the requested columns are selected, so unneeded ones (such as the unbounded description)
+ * are never read from the database.
+ */
+public interface TaskFieldsRepository {
+
+    // The given attributes of the tasks matching the specification in id order, one map per row
+    // with the attributes in the order requested; a null specification matches every task
+    List<Map<String, Object>> findFields(List<String> attributes, Specification<Task> specification, Limit limit);
+}
@@ -1,35 +1,174 @@
 package com.example.todo.todobackend.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+
 import java.util.List;
 import java.util.Date;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import com.example.todo.todobackend.config.CacheConfig;
+import com.example.todo.todobackend.dto.TaskView;
 import com.example.todo.todobackend.model.Task;
 import com.example.todo.todobackend.model.Task.Priority;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    // Spring Data JPA will automatically implement basic CRUD operations
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskFieldsRepository {
+    // Spring Data JPA will automatically implement basic CRUD operations;
+    // ad-hoc filter combinations go through findAll(Specification, ...) with TaskSpecifications.
+    // List finders return TaskView projections: rows are read into DTOs, never into managed entities.
+    // findFields (TaskFieldsRepository) selects only the columns a client asked for.
+    // Results of the filter finders and of findAllByOrderByIdAsc are kept in the query cache until
+    // the next write to the tasks table; keyset pages are not, as each cursor is rarely read twice.
+    
+    // Find the first tasks ordered by id, bounded by the given limit
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.TASK_QUERY_REGION)
+    })
+    List<TaskView> findAllByOrderByIdAsc(Limit limit);
+    
+    // Find the tasks following the given id, used for keyset pagination
+    List<TaskView> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    // Stream all tasks ordered by id for exports; the stream must be consumed inside a transaction.
+    // The rows are not put into the second-level cache, where a full export would evict the working set
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    Stream<Task> streamAllByOrderByIdAsc();
+    
+    // Filtered, sorted page for GET /tasks/query. Specifications cannot select a DTO, so the entities
+    // are loaded read-only instead: Hibernate keeps no snapshot of them and skips them when flushing
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Page<Task> findAll(Specification<Task> specification, Pageable pageable);
+    
+    // Read only the version column, used to answer conditional requests without loading the entity
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
+    // Re-read a task after a bulk update in the same transaction. The update only evicts the
+    // second-level cache on commit, so this reads the row instead of the cached entity
+    @Query("select t from Task t where t.id = :id")
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    Optional<Task> findUncachedById(@Param("id") Long id);
     
     // Find tasks by priority
-    List<Task> findByPriority(Priority priority);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.TASK_QUERY_REGION)
+    })
+    List<TaskView> findByPriority(Priority priority);
     
     // Find tasks by completion status
-    List<Task> findByCompleted(boolean completed);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.TASK_QUERY_REGION)
+    })
+    List<TaskView> findByCompleted(boolean completed);
     
     // Find tasks by priority and completion status
-    List<Task> findByPriorityAndCompleted(Priority priority, boolean completed);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.TASK_QUERY_REGION)
+    })
+    List<TaskView> findByPriorityAndCompleted(Priority priority, boolean completed);
     
     // Find tasks by due date
-    List<Task> findByDueDate(Date dueDate);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.TASK_QUERY_REGION)
+    })
+    List<TaskView> findByDueDate(Date dueDate);
     
     // Find tasks with due date before specified date
-    List<Task> findByDueDateBefore(Date dueDate);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.TASK_QUERY_REGION)
+    })
+    List<TaskView> findByDueDateBefore(Date dueDate);
     
     // Find tasks with due date after specified date
-    List<Task> findByDueDateAfter(Date dueDate);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.TASK_QUERY_REGION)
+    })
+    List<TaskView> findByDueDateAfter(Date dueDate);
     
     // Find tasks by priority and due date
-    List<Task> findByPriorityAndDueDate(Priority priority, Date dueDate);
-}
\ No newline at end of file
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.TASK_QUERY_REGION)
+    })
+    List<TaskView> findByPriorityAndDueDate(Priority priority, Date dueDate);
+    
+    // Row counts per priority and completion status, answered from idx_tasks_priority_completed
+    @Query("select t.priority as priority, t.completed as completed, count(t) as count "
+            + "from Task t group by t.priority, t.completed")
+    List<PriorityStatusCount> countByPriorityAndCompleted();
+    
+    // Open tasks due before the given date, per priority
+    @Query("select t.priority as priority, count(t) as count from Task t "
+            + "where t.completed = false and t.dueDate < :date group by t.priority")
+    List<PriorityCount> countOpenDueBeforeByPriority(@Param("date") Date date);
+    
+    // Open tasks per due month; tasks without a due date are grouped under a null year and month
+    @Query("select year(t.dueDate) as year, month(t.dueDate) as month, count(t) as count from Task t "
+            + "where t.completed = false group by year(t.dueDate), month(t.dueDate) "
+            + "order by year(t.dueDate), month(t.dueDate)")
+    List<MonthCount> countOpenByDueMonth();
+    
+    // Single-column updates issued as one UPDATE statement that also bumps the version.
+    // A non-null version makes the update conditional on it; they return the number of affected rows
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.completed = :completed, t.version = t.version + 1 "
+            + "where t.id = :id and (:version is null or t.version = :version)")
+    int updateCompleted(@Param("id") Long id, @Param("completed") boolean completed, @Param("version") Long version);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.priority = :priority, t.version = t.version + 1 "
+            + "where t.id = :id and (:version is null or t.version = :version)")
+    int updatePriority(@Param("id") Long id, @Param("priority") Priority priority, @Param("version") Long version);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.dueDate = :dueDate, t.version = t.version + 1 "
+            + "where t.id = :id and (:version is null or t.version = :version)")
+    int updateDueDate(@Param("id") Long id, @Param("dueDate") Date dueDate, @Param("version") Long version);
+    
+    // Projections for the aggregate queries
+    interface PriorityStatusCount {
+        Priority getPriority();
+        Boolean getCompleted();
+        long getCount();
+    }
+    
+    interface PriorityCount {
+        Priority getPriority();
+        long getCount();
+    }
+    
+    interface MonthCount {
+        Integer getYear();
+        Integer getMonth();
+        long getCount();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.todo.todobackend.repository;
+
+import java.util.Collection;
+import java.util.Date;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.model.Task.Priority;
+
+/**
+ * Composable filters for TaskRepository.findAll(Specification, ...).
+ * A null or empty argument yields a null specification, which Specification.where/and ignore,
+ * so callers can combine every filter and pass through whatever the client supplied.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    // Priority is any of the given values
+    public static Specification<Task> priorityIn(Collection<Priority> priorities) {
+        if (priorities == null || priorities.isEmpty()) {
+            return null;
+        }
+        return (root, query, builder) -> priorities.size() == 1
+                ? builder.equal(root.get("priority"), priorities.iterator().next())
+                : root.get("priority").in(priorities);
+    }
+
+    public static Specification<Task> completed(Boolean completed) {
+        if (completed == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.equal(root.get("completed"), completed);
+    }
+
+    public static Specification<Task> dueOn(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.equal(root.get("dueDate"), date);
+    }
+
+    // Due strictly before the given date
+    public static Specification<Task> dueBefore(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.lessThan(root.<Date>get("dueDate"), date);
+    }
+
+    // Due strictly after the given date
+    public static Specification<Task> dueAfter(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.greaterThan(root.<Date>get("dueDate"), date);
+    }
+
+    // Due on or after the given date
+    public static Specification<Task> dueFrom(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.<Date>get("dueDate"), date);
+    }
+
+    // Due on or before the given date
+    public static Specification<Task> dueTo(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.lessThanOrEqualTo(root.<Date>get("dueDate"), date);
+    }
+}
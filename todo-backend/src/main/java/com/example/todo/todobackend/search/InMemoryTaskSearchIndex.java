@@ -0,0 +1,212 @@
+package com.example.todo.todobackend.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.event.TaskChangedEvent;
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.repository.TaskRepository;
+
+/**
+ * Inverted index held in memory, for H2 and development.
+ * Terms are kept sorted so a query term matches every indexed term it is a prefix of. Hits are
+ * scored with TF-IDF: title occurrences count twice, and a prefix match counts half of an exact one.
+ * The index is built from the database on startup and updated after every committed task write.
+ * Tasks that change while the startup rebuild runs are re-read once it is done, as a batch read before
+ * the change may otherwise put the old task back.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "todo.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+    private static final float TITLE_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    // term -> task id -> weighted term frequency
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    // task id -> its terms, so a task's old postings can be removed when it changes
+    private final Map<Long, Iterable<String>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Ids of tasks changed during a rebuild, null when no rebuild is running; guarded by the write lock
+    private Set<Long> changedDuringRebuild;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    // Index every existing task, a batch at a time in id order, then re-read the tasks changed meanwhile
+    // until no more changes come in
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long afterId = 0L;
+        List<TaskView> tasks;
+        do {
+            tasks = taskRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            tasks.forEach(task -> index(task.getId(), task.getTitle(), task.getDescription()));
+            if (!tasks.isEmpty()) {
+                afterId = tasks.get(tasks.size() - 1).getId();
+            }
+        } while (tasks.size() == REBUILD_BATCH_SIZE);
+
+        Set<Long> changed;
+        do {
+            lock.writeLock().lock();
+            try {
+                changed = changedDuringRebuild;
+                changedDuringRebuild = changed.isEmpty() ? null : new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            changed.forEach(this::refresh);
+        } while (!changed.isEmpty());
+    }
+
+    // Re-read the task after the writing transaction commits, so rolled-back changes are never indexed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event.getTaskId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            remove(event.getTaskId());
+            return;
+        }
+        refresh(event.getTaskId());
+    }
+
+    public void index(Task task) {
+        index(task.getId(), task.getTitle(), task.getDescription());
+    }
+
+    // Add the task, replacing whatever was indexed for it before
+    public void index(Long taskId, String title, String description) {
+        Map<String, Float> frequencies = new HashMap<>();
+        TaskSearchIndex.terms(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Float::sum));
+        TaskSearchIndex.terms(description).forEach(term -> frequencies.merge(term, DESCRIPTION_WEIGHT, Float::sum));
+
+        lock.writeLock().lock();
+        try {
+            removePostings(taskId);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(taskId, frequency));
+            documentTerms.put(taskId, new ArrayList<>(frequencies.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            removePostings(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public TaskSearchHits search(String query, long offset, int limit) {
+        List<String> queryTerms = TaskSearchIndex.terms(query);
+        if (queryTerms.isEmpty()) {
+            return new TaskSearchHits(Collections.emptyList(), 0);
+        }
+
+        Map<Long, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            double documentCount = documentTerms.size();
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = scoreTerm(queryTerm, documentCount);
+                // Every query term has to match: keep only tasks matched by all terms so far
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new TaskSearchHits(ranked, scores.size());
+    }
+
+    // Index the task as it is in the database now, or drop it if it is gone
+    private void refresh(Long taskId) {
+        taskRepository.findById(taskId).ifPresentOrElse(this::index, () -> remove(taskId));
+    }
+
+    // Score every task containing an indexed term that starts with the query term
+    private Map<Long, Double> scoreTerm(String queryTerm, double documentCount) {
+        Map<Long, Double> termScores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> entry
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            Map<Long, Float> documents = entry.getValue();
+            double idf = Math.log(1.0 + documentCount / documents.size());
+            double matchWeight = entry.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_WEIGHT;
+            documents.forEach((id, frequency) ->
+                    termScores.merge(id, Math.sqrt(frequency) * idf * matchWeight, Double::sum));
+        }
+        return termScores;
+    }
+
+    // Callers hold the write lock
+    private void removePostings(Long taskId) {
+        Iterable<String> terms = documentTerms.remove(taskId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> documents = postings.get(term);
+            documents.remove(taskId);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.todo.todobackend.search;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Full-text search on PostgreSQL's tsvector, backed by the GIN index in
+ * db/postgresql/task-search-index.sql. Titles are weighted A and descriptions B, so ts_rank
+ * puts title matches first; each query term becomes a prefix (term:*) in an AND query.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "todo.search.engine", havingValue = "postgresql")
+public class PostgresTaskSearchIndex implements TaskSearchIndex {
+
+    // Must match the indexed expression exactly
+    static final String DOCUMENT = "(setweight(to_tsvector('english', coalesce(title, '')), 'A') "
+            + "|| setweight(to_tsvector('english', coalesce(description, '')), 'B'))";
+
+    private static final String SEARCH_SQL = "SELECT id FROM tasks, to_tsquery('english', ?) query "
+            + "WHERE " + DOCUMENT + " @@ query "
+            + "ORDER BY ts_rank(" + DOCUMENT + ", query) DESC, id LIMIT ? OFFSET ?";
+
+    private static final String COUNT_SQL = "SELECT count(*) FROM tasks "
+            + "WHERE " + DOCUMENT + " @@ to_tsquery('english', ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public TaskSearchHits search(String query, long offset, int limit) {
+        List<String> terms = TaskSearchIndex.terms(query);
+        if (terms.isEmpty()) {
+            return new TaskSearchHits(Collections.emptyList(), 0);
+        }
+        // Terms only contain letters and digits, so they are safe to splice into tsquery syntax
+        String tsQuery = terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+        List<Long> ids = jdbcTemplate.queryForList(SEARCH_SQL, Long.class, tsQuery, limit, offset);
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, tsQuery);
+        return new TaskSearchHits(ids, total == null ? 0 : total);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todo.todobackend.search;
+
+import java.util.List;
+
+/**
+ * One window of search results: task ids in rank order and the total number of matching tasks.
+ */
+public class TaskSearchHits {
+
+    private final List<Long> ids;
+    private final long total;
+
+    public TaskSearchHits(List<Long> ids, long total) {
+        this.ids = ids;
+        this.total = total;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todo.todobackend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Full-text index over task titles and descriptions.
+ * Every query term is matched as a prefix, all terms must match, and hits are ordered by relevance
+ * with title matches ranking above description matches. The implementation is chosen with
+ * todo.search.engine: "memory" (default) or "postgresql".
+ */
+public interface TaskSearchIndex {
+
+    // Ranked task ids for the given window of the result list, plus the total number of hits.
+    // The offset is a long because page number times page size can exceed an int
+    TaskSearchHits search(String query, long offset, int limit);
+
+    // Split text into lower-case letter/digit terms; everything else separates terms
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
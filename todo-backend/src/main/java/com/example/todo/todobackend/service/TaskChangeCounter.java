@@ -0,0 +1,58 @@
+package com.example.todo.todobackend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Change counter for the tasks table, kept in the task_changes_seq sequence (db/h2/task-changes.sql).
+ * Writers draw a value from the sequence once their transaction has committed, so the count moves only
+ * when the new rows are visible, and every instance sharing the database reads the same count. Sequences
+ * are not transactional and take no row lock, so concurrent writers do not queue behind each other.
+ */
+@Repository
+@Profile("!reactive")
+public class TaskChangeCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeCounter.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Draws the next value; the default is H2's syntax, see application.properties for PostgreSQL
+    @Value("${todo.tasks.changes.increment-sql:SELECT NEXT VALUE FOR task_changes_seq}")
+    private String incrementSql = "SELECT NEXT VALUE FOR task_changes_seq";
+
+    // Reads the value the sequence would hand out next, without drawing it
+    @Value("${todo.tasks.changes.current-sql:SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TASK_CHANGES_SEQ'}")
+    private String currentSql = "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TASK_CHANGES_SEQ'";
+
+    // Bump the counter once the calling transaction commits; nothing happens on rollback.
+    // A failed bump is only logged, as the write itself has already committed.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    jdbcTemplate.queryForObject(incrementSql, Long.class);
+                } catch (DataAccessException e) {
+                    log.warn("Could not bump the task change counter; collection ETags stay unchanged until the next write", e);
+                }
+            }
+        });
+    }
+
+    public long current() {
+        return jdbcTemplate.queryForObject(currentSql, Long.class);
+    }
+}
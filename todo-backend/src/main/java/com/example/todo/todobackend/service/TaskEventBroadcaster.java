@@ -0,0 +1,64 @@
+package com.example.todo.todobackend.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.todo.todobackend.event.TaskChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fans committed task changes out to any number of stream subscribers.
+ * Every subscriber gets its own bounded buffer: a slow client loses its oldest pending events
+ * instead of holding up publishers or the other subscribers.
+ */
+@Component
+public class TaskEventBroadcaster {
+
+    private final Sinks.Many<TaskChangedEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    // A sink must not be emitted to from several threads at once. The lock is only held for the hand-off:
+    // each subscriber's buffer takes the event, and the SSE write happens later on Spring MVC's task
+    // executor (ReactiveTypeHandler), or without blocking on Netty for the reactive stack.
+    private final ReentrantLock emitLock = new ReentrantLock();
+
+    // Pending events kept per subscriber before the oldest are dropped
+    @Value("${todo.tasks.stream.buffer-size:256}")
+    private int bufferSize = 256;
+
+    // Called after the writing transaction commits, so subscribers never see rolled-back changes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        emitLock.lock();
+        try {
+            sink.tryEmitNext(event);
+        } finally {
+            emitLock.unlock();
+        }
+    }
+
+    public Flux<TaskChangedEvent> subscribe() {
+        return sink.asFlux().onBackpressureBuffer(bufferSize, BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    public int getSubscriberCount() {
+        return sink.currentSubscriberCount();
+    }
+
+    // Complete open streams so clients reconnect to another instance instead of hanging
+    @PreDestroy
+    public void shutdown() {
+        emitLock.lock();
+        try {
+            sink.tryEmitComplete();
+        } finally {
+            emitLock.unlock();
+        }
+    }
+}
@@ -1,123 +1,621 @@
 package com.example.todo.todobackend.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.Optional;
 import java.util.Date;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.todo.todobackend.config.CacheConfig;
+import com.example.todo.todobackend.dto.BatchItemResult;
+import com.example.todo.todobackend.dto.TaskFilter;
+import com.example.todo.todobackend.dto.TaskPage;
+import com.example.todo.todobackend.dto.TaskPatch;
+import com.example.todo.todobackend.dto.TaskSearchPage;
+import com.example.todo.todobackend.dto.TaskStats;
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.event.TaskChangedEvent;
 import com.example.todo.todobackend.model.Task;
 import com.example.todo.todobackend.model.Task.Priority;
 import com.example.todo.todobackend.repository.TaskRepository;
+import com.example.todo.todobackend.repository.TaskSpecifications;
+import com.example.todo.todobackend.search.TaskSearchHits;
+import com.example.todo.todobackend.search.TaskSearchIndex;
+
+import io.micrometer.core.annotation.Timed;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import reactor.core.publisher.Flux;
 
 @Service
+@Profile("!reactive")
+@Timed("todo.task.service")
 public class TaskService {
 
+    private static final String CURSOR_PREFIX = "id:";
+    
+    // Properties GET /tasks/query may sort on; priority is left out because it is stored as text
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "title", "completed", "dueDate");
+    
+    // Fields the list endpoints can be narrowed to with ?fields=, named as in the task JSON
+    private static final Set<String> SELECTABLE_FIELDS =
+            Set.of("id", "title", "description", "completed", "priority", "dueDate", "version");
+
     @Autowired
     private TaskRepository taskRepository;
     
-    // Get all tasks
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TaskChangeCounter changeCounter;
+    
+    @Autowired
+    private TaskEventBroadcaster eventBroadcaster;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private TaskSearchIndex searchIndex;
+    
+    // Hard cap on the unpaginated listing
+    @Value("${todo.tasks.max-list-size:1000}")
+    private int maxListSize = 1000;
+    
+    // Attempts for a PUT that did not pin a version before a concurrent write is reported as a conflict
+    @Value("${todo.tasks.update.max-attempts:3}")
+    private int maxUpdateAttempts = 3;
+    
+    @Value("${todo.tasks.page.default-size:50}")
+    private int defaultPageSize = 50;
+    
+    @Value("${todo.tasks.page.max-size:500}")
+    private int maxPageSize = 500;
+    
+    @Value("${todo.tasks.batch.max-size:1000}")
+    private int maxBatchSize = 1000;
+    
+    // Last computed statistics; reused until the change counter moves or the date changes
+    private volatile StatsSnapshot statsSnapshot;
+    
+    // Get all tasks, capped at the configured maximum list size
+    @Transactional(readOnly = true)
+    public List<TaskView> getAllTasks() {
+        return taskRepository.findAllByOrderByIdAsc(Limit.of(maxListSize));
+    }
+    
+    // Only the requested fields of the tasks matching the filter (null for all tasks), in id order
+    // and capped like getAllTasks; only the requested columns are selected
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTaskFields(List<String> fields, Specification<Task> filter) {
+        return taskRepository.findFields(parseFields(fields), filter, Limit.of(maxListSize));
+    }
+    
+    // Get the page of tasks following the given cursor (keyset pagination on id)
+    @Transactional(readOnly = true)
+    public TaskPage getTasksPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        long afterId = decodeCursor(cursor);
+        
+        // Fetch one extra row to find out whether another page exists
+        List<TaskView> tasks = taskRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        if (tasks.size() <= pageSize) {
+            return new TaskPage(tasks, null);
+        }
+        List<TaskView> pageItems = tasks.subList(0, pageSize);
+        return new TaskPage(pageItems, encodeCursor(pageItems.get(pageSize - 1).getId()));
+    }
+    
+    // Tasks matching every criterion that is set, filtered, sorted and paged in a single query.
+    // Sort entries are "property" or "property,asc|desc"; id is always the final tie-breaker.
+    @Transactional(readOnly = true)
+    public Page<TaskView> queryTasks(TaskFilter filter, Integer page, Integer size, List<String> sort) {
+        if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().after(filter.getDueTo())) {
+            throw new IllegalArgumentException("dueFrom must not be after dueTo");
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page number must not be negative: " + page);
+        }
+        Specification<Task> specification = Specification.where(TaskSpecifications.priorityIn(filter.getPriorities()))
+                .and(TaskSpecifications.completed(filter.getCompleted()))
+                .and(TaskSpecifications.dueFrom(filter.getDueFrom()))
+                .and(TaskSpecifications.dueTo(filter.getDueTo()));
+        return taskRepository.findAll(specification,
+                PageRequest.of(pageNumber, resolvePageSize(size), parseSort(sort))).map(TaskView::of);
+    }
+    
+    // Aggregate counts for dashboards. The GROUP BY queries only run again once the task_changes_seq
+    // counter moves, which every committed write makes it do on whichever instance made it, or the date
+    // changes; the polls in between cost one sequence read however large the table grows.
+    public TaskStats getTaskStats() {
+        // Read the counter first: a write committing meanwhile leaves a snapshot that is already outdated
+        long changeCount = changeCounter.current();
+        LocalDate today = LocalDate.now();
+        StatsSnapshot snapshot = statsSnapshot;
+        if (snapshot != null && snapshot.changeCount == changeCount && snapshot.stats.getDate().equals(today)) {
+            return snapshot.stats;
+        }
+        TaskStats stats = computeStats(today);
+        statsSnapshot = new StatsSnapshot(changeCount, stats);
+        return stats;
+    }
+    
+    // Full-text search over titles and descriptions, most relevant first; page numbers start at 0
+    @Transactional(readOnly = true)
+    public TaskSearchPage searchTasks(String query, Integer page, Integer size) {
+        if (query == null || TaskSearchIndex.terms(query).isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain a word: " + query);
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page number must not be negative: " + page);
+        }
+        int pageSize = resolvePageSize(size);
+        
+        TaskSearchHits hits = searchIndex.search(query, (long) pageNumber * pageSize, pageSize);
+        // findAllById does not keep the ranking, so put the tasks back in rank order
+        Map<Long, Task> tasksById = taskRepository.findAllById(hits.getIds()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskView> tasks = hits.getIds().stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .map(TaskView::of)
+                .collect(Collectors.toList());
+        return new TaskSearchPage(tasks, pageNumber, pageSize, hits.getTotal());
+    }
+    
+    // Hand every task to the consumer in id order, detaching each one so memory stays flat
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAllByOrderByIdAsc()) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+    
+    // Create several tasks in one transaction; inserts are sent in JDBC batches
+    @Transactional
+    public List<BatchItemResult> createTasks(List<Task> tasks) {
+        checkBatchSize(tasks.size());
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        List<BatchItemResult> results = new ArrayList<>(savedTasks.size());
+        for (int i = 0; i < savedTasks.size(); i++) {
+            Long id = savedTasks.get(i).getId();
+            results.add(new BatchItemResult(i, id, BatchItemResult.Status.CREATED));
+            publish(TaskChangedEvent.Type.CREATED, id);
+        }
+        if (!savedTasks.isEmpty()) {
+            changeCounter.increment();
+        }
+        return results;
+    }
+    
+    // Apply partial updates to several tasks in one transaction; unknown ids are reported as NOT_FOUND,
+    // and items whose version is no longer the stored one as CONFLICT, leaving that task unchanged
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    public List<BatchItemResult> updateTasks(List<TaskPatch> patches) {
+        checkBatchSize(patches.size());
+        List<Long> ids = patches.stream().map(TaskPatch::getId).filter(Objects::nonNull).collect(Collectors.toList());
+        Map<Long, Task> existingTasks = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        
+        List<BatchItemResult> results = new ArrayList<>(patches.size());
+        boolean changed = false;
+        for (int i = 0; i < patches.size(); i++) {
+            TaskPatch patch = patches.get(i);
+            Task existing = patch.getId() == null ? null : existingTasks.get(patch.getId());
+            if (existing == null) {
+                results.add(new BatchItemResult(i, patch.getId(), BatchItemResult.Status.NOT_FOUND));
+                continue;
+            }
+            if (patch.getVersion() != null && !patch.getVersion().equals(existing.getVersion())) {
+                results.add(new BatchItemResult(i, existing.getId(), BatchItemResult.Status.CONFLICT));
+                continue;
+            }
+            // Managed entities are flushed as batched UPDATEs on commit
+            patch.applyTo(existing);
+            results.add(new BatchItemResult(i, existing.getId(), BatchItemResult.Status.UPDATED));
+            publish(TaskChangedEvent.Type.UPDATED, existing.getId());
+            changed = true;
+        }
+        if (changed) {
+            changeCounter.increment();
+        }
+        return results;
+    }
+    
+    // Delete several tasks with a single DELETE statement; unknown ids are reported as NOT_FOUND
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    public List<BatchItemResult> deleteTasks(List<Long> ids) {
+        checkBatchSize(ids.size());
+        // A set, as every requested id is looked up in it below
+        Set<Long> existingIds = taskRepository.findAllById(ids).stream()
+                .map(Task::getId)
+                .collect(Collectors.toSet());
+        taskRepository.deleteAllByIdInBatch(existingIds);
+        
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (existingIds.contains(id)) {
+                results.add(new BatchItemResult(i, id, BatchItemResult.Status.DELETED));
+                publish(TaskChangedEvent.Type.DELETED, id);
+            } else {
+                results.add(new BatchItemResult(i, id, BatchItemResult.Status.NOT_FOUND));
+            }
+        }
+        if (!existingIds.isEmpty()) {
+            changeCounter.increment();
+        }
+        return results;
     }
     
     // Get a task by ID
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, key = "#id", unless = "#result == null")
     public Optional<Task> getTaskById(Long id) {
         return taskRepository.findById(id);
     }
     
+    // Get the current version of a task without loading the entity
+    public Optional<Long> getTaskVersion(Long id) {
+        return taskRepository.findVersionById(id);
+    }
+    
+    // Stream of committed task changes for the SSE endpoint
+    public Flux<TaskChangedEvent> streamTaskChanges() {
+        return eventBroadcaster.subscribe();
+    }
+    
+    // Get the committed change count of the tasks table, used as the collection ETag
+    public long getChangeCount() {
+        return changeCounter.current();
+    }
+    
     // Get tasks by priority
-    public List<Task> getTasksByPriority(Priority priority) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByPriority(Priority priority) {
         return taskRepository.findByPriority(priority);
     }
     
     // Get tasks by completion status
-    public List<Task> getTasksByCompletionStatus(boolean completed) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByCompletionStatus(boolean completed) {
         return taskRepository.findByCompleted(completed);
     }
     
     // Get tasks by priority and completion status
-    public List<Task> getTasksByPriorityAndStatus(Priority priority, boolean completed) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByPriorityAndStatus(Priority priority, boolean completed) {
         return taskRepository.findByPriorityAndCompleted(priority, completed);
     }
     
     // Create a new task
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.TASKS_CACHE, key = "#result.id")
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        publish(TaskChangedEvent.Type.CREATED, savedTask.getId());
+        changeCounter.increment();
+        return savedTask;
     }
     
-    // Update an existing task
+    // Update an existing task. A task carrying a version is saved only if that version is still
+    // current; without one the latest version is read and the save retried on concurrent writes,
+    // returning null once the task is gone and throwing ConcurrencyFailureException when the retries run out.
+    // Each attempt runs in its own transaction, as a failed one is rolled back.
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#task.id")
     public Task updateTask(Task task) {
-        return taskRepository.save(task);
+        if (task.getVersion() != null) {
+            return transactionTemplate.execute(status -> saveUpdate(task));
+        }
+        for (int attempt = 1; ; attempt++) {
+            Optional<Long> currentVersion = taskRepository.findVersionById(task.getId());
+            if (currentVersion.isEmpty()) {
+                return null;
+            }
+            task.setVersion(currentVersion.get());
+            try {
+                return transactionTemplate.execute(status -> saveUpdate(task));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxUpdateAttempts) {
+                    throw new ConcurrencyFailureException("Task " + task.getId() + " was modified concurrently "
+                            + attempt + " times in a row", e);
+                }
+            }
+        }
     }
     
-    // Delete a task
-    public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+    // Delete a task; false when it was already gone, in which case nothing is published or counted.
+    // Hibernate deletes by id and version and fails on a row count of 0, so a concurrent delete rolls this one back
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public boolean deleteTask(Long id) {
+        Optional<Task> task = taskRepository.findById(id);
+        if (task.isEmpty()) {
+            return false;
+        }
+        taskRepository.delete(task.get());
+        publish(TaskChangedEvent.Type.DELETED, id);
+        changeCounter.increment();
+        return true;
     }
     
-    // Mark task as completed
-    public Task markTaskCompleted(Long id) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setCompleted(true);
-            return taskRepository.save(task);
-        }
-        return null; // or throw an exception
+    // Mark task as completed and read it back
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public Task markTaskCompleted(Long id, Long expectedVersion) {
+        return setTaskCompleted(id, true, expectedVersion) ? reload(id) : null;
     }
     
-    // Mark task as not completed
-    public Task markTaskNotCompleted(Long id) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setCompleted(false);
-            return taskRepository.save(task);
-        }
-        return null; // or throw an exception
+    // Mark task as not completed and read it back
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public Task markTaskNotCompleted(Long id, Long expectedVersion) {
+        return setTaskCompleted(id, false, expectedVersion) ? reload(id) : null;
     }
     
-    // Update task priority
-    public Task updateTaskPriority(Long id, Priority priority) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setPriority(priority);
-            return taskRepository.save(task);
-        }
-        return null; // or throw an exception
+    // Update task priority and read it back
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public Task updateTaskPriority(Long id, Priority priority, Long expectedVersion) {
+        return setTaskPriority(id, priority, expectedVersion) ? reload(id) : null;
     }
     
     // Get tasks by due date
-    public List<Task> getTasksByDueDate(Date dueDate) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByDueDate(Date dueDate) {
         return taskRepository.findByDueDate(dueDate);
     }
     
     // Get tasks due before a specific date
-    public List<Task> getTasksDueBefore(Date date) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksDueBefore(Date date) {
         return taskRepository.findByDueDateBefore(date);
     }
     
     // Get tasks due after a specific date
-    public List<Task> getTasksDueAfter(Date date) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksDueAfter(Date date) {
         return taskRepository.findByDueDateAfter(date);
     }
     
     // Get tasks by priority and due date
-    public List<Task> getTasksByPriorityAndDueDate(Priority priority, Date dueDate) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByPriorityAndDueDate(Priority priority, Date dueDate) {
         return taskRepository.findByPriorityAndDueDate(priority, dueDate);
     }
     
-    // Update task due date
-    public Task updateTaskDueDate(Long id, Date dueDate) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setDueDate(dueDate);
-            return taskRepository.save(task);
+    // Update task due date and read it back
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public Task updateTaskDueDate(Long id, Date dueDate, Long expectedVersion) {
+        return setTaskDueDate(id, dueDate, expectedVersion) ? reload(id) : null;
+    }
+    
+    // Set the completion flag with a single UPDATE; false when the task does not exist
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public boolean setTaskCompleted(Long id, boolean completed, Long expectedVersion) {
+        return updated(id, expectedVersion, taskRepository.updateCompleted(id, completed, expectedVersion));
+    }
+    
+    // Set the priority with a single UPDATE; false when the task does not exist
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public boolean setTaskPriority(Long id, Priority priority, Long expectedVersion) {
+        return updated(id, expectedVersion, taskRepository.updatePriority(id, priority, expectedVersion));
+    }
+    
+    // Set the due date with a single UPDATE; false when the task does not exist
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public boolean setTaskDueDate(Long id, Date dueDate, Long expectedVersion) {
+        return updated(id, expectedVersion, taskRepository.updateDueDate(id, dueDate, expectedVersion));
+    }
+    
+    // Read a task back after a single-column UPDATE in the same transaction, past the
+    // second-level cache that the bulk update only invalidates on commit
+    private Task reload(Long id) {
+        return taskRepository.findUncachedById(id).orElse(null);
+    }
+    
+    private Task saveUpdate(Task task) {
+        Task savedTask = taskRepository.save(task);
+        publish(TaskChangedEvent.Type.UPDATED, savedTask.getId());
+        changeCounter.increment();
+        return savedTask;
+    }
+    
+    // Publish a change event for a single-row UPDATE that touched the task. When no row matched,
+    // a task that still exists means the expected version was stale.
+    private boolean updated(Long id, Long expectedVersion, int affectedRows) {
+        if (affectedRows == 0) {
+            if (expectedVersion != null && taskRepository.existsById(id)) {
+                throw new ObjectOptimisticLockingFailureException(Task.class, id);
+            }
+            return false;
+        }
+        publish(TaskChangedEvent.Type.UPDATED, id);
+        changeCounter.increment();
+        return true;
+    }
+    
+    private void publish(TaskChangedEvent.Type type, Long id) {
+        eventPublisher.publishEvent(new TaskChangedEvent(type, id));
+    }
+    
+    private TaskStats computeStats(LocalDate today) {
+        Map<Priority, TaskStats.StatusCounts> byPriority = new EnumMap<>(Priority.class);
+        long completed = 0;
+        long open = 0;
+        for (TaskRepository.PriorityStatusCount count : taskRepository.countByPriorityAndCompleted()) {
+            boolean isCompleted = Boolean.TRUE.equals(count.getCompleted());
+            if (count.getPriority() != null) {
+                byPriority.computeIfAbsent(count.getPriority(), p -> new TaskStats.StatusCounts())
+                        .add(isCompleted, count.getCount());
+            }
+            if (isCompleted) {
+                completed += count.getCount();
+            } else {
+                open += count.getCount();
+            }
+        }
+        
+        Map<Priority, Long> overdueByPriority = new EnumMap<>(Priority.class);
+        long overdue = 0;
+        for (TaskRepository.PriorityCount count : taskRepository.countOpenDueBeforeByPriority(java.sql.Date.valueOf(today))) {
+            if (count.getPriority() != null) {
+                overdueByPriority.put(count.getPriority(), count.getCount());
+            }
+            overdue += count.getCount();
+        }
+        
+        Map<String, Long> openByDueMonth = new LinkedHashMap<>();
+        long openWithoutDueDate = 0;
+        for (TaskRepository.MonthCount count : taskRepository.countOpenByDueMonth()) {
+            if (count.getYear() == null) {
+                openWithoutDueDate += count.getCount();
+            } else {
+                openByDueMonth.put(String.format("%04d-%02d", count.getYear(), count.getMonth()), count.getCount());
+            }
+        }
+        return new TaskStats(today, byPriority, completed, open, overdueByPriority, overdue,
+                openByDueMonth, openWithoutDueDate);
+    }
+    
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + size + " exceeds the limit of " + maxBatchSize);
+        }
+    }
+    
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        return Math.min(size, maxPageSize);
+    }
+    
+    // Spring splits a single "property,desc" parameter into two values, so the entries are read as one
+    // token list in which "asc" or "desc" applies to the property before it
+    private static Sort parseSort(List<String> sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        if (sort != null) {
+            for (String entry : sort) {
+                for (String token : entry.split(",")) {
+                    token = token.trim();
+                    Optional<Sort.Direction> direction = Sort.Direction.fromOptionalString(token);
+                    if (direction.isPresent() && !orders.isEmpty()) {
+                        Sort.Order last = orders.remove(orders.size() - 1);
+                        orders.add(last.with(direction.get()));
+                    } else if (SORTABLE_PROPERTIES.contains(token)) {
+                        orders.add(Sort.Order.asc(token));
+                    } else {
+                        throw new IllegalArgumentException("Unsupported sort: " + entry);
+                    }
+                }
+            }
+        }
+        Sort result = Sort.by(orders);
+        return result.getOrderFor("id") == null ? result.and(Sort.by("id")) : result;
+    }
+    
+    // Requested field names in the order given, without duplicates; like sort entries,
+    // a comma-separated value may arrive split into several
+    private static List<String> parseFields(List<String> fields) {
+        Set<String> parsed = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String entry : fields) {
+                for (String token : entry.split(",")) {
+                    token = token.trim();
+                    if (token.isEmpty()) {
+                        continue;
+                    }
+                    if (!SELECTABLE_FIELDS.contains(token)) {
+                        throw new IllegalArgumentException("Unsupported field: " + token);
+                    }
+                    parsed.add(token);
+                }
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be requested");
+        }
+        return new ArrayList<>(parsed);
+    }
+    
+    private static String encodeCursor(Long id) {
+        byte[] raw = (CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+    
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // Covers both malformed Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+    
+    private static final class StatsSnapshot {
+        
+        private final long changeCount;
+        private final TaskStats stats;
+        
+        StatsSnapshot(long changeCount, TaskStats stats) {
+            this.changeCount = changeCount;
+            this.stats = stats;
         }
-        return null; // or throw an exception
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+-- Schema for the reactive profile, where Hibernate does not run DDL. Mirrors the JPA mapping of Task
+-- and is safe to run against a database Hibernate already created.
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT NOT NULL PRIMARY KEY,
+    completed BOOLEAN NOT NULL,
+    description VARCHAR(255),
+    due_date DATE,
+    priority VARCHAR(255),
+    title VARCHAR(255),
+    version BIGINT DEFAULT 0
+);
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+
+-- Databases created by older Hibernate mappings use a native ENUM here. r2dbc-h2 binds every
+-- String parameter as a CLOB, which H2 converts to VARCHAR but not to ENUM.
+ALTER TABLE tasks ALTER COLUMN priority SET DATA TYPE VARCHAR(255);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_completed ON tasks (priority, completed);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_due_date ON tasks (priority, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_completed_due_date ON tasks (completed, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date);
@@ -0,0 +1,4 @@
+-- Restart tasks_seq after the highest existing id.
+-- Rows created while Task used IDENTITY ids would otherwise collide with the new sequence.
+-- With the pooled-lo optimizer no id above MAX(id) has been handed out at startup, so this is safe to rerun.
+ALTER SEQUENCE tasks_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks);
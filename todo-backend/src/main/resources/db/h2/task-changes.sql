@@ -0,0 +1,9 @@
+-- Change counter for the tasks table, behind the collection ETag and the cached statistics.
+-- Every write through the application draws a value once it has committed, so readers on any instance
+-- see the count move shortly after they can see the new rows. A sequence rather than a counter row,
+-- because bumping a shared row would make every write transaction wait for the previous one's commit.
+-- Safe to rerun; an existing count is kept.
+CREATE SEQUENCE IF NOT EXISTS task_changes_seq START WITH 1;
+
+-- Replaced by task_changes_seq
+DROP TABLE IF EXISTS task_changes;
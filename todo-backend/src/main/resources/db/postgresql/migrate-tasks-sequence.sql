@@ -0,0 +1,7 @@
+-- One-off migration from IDENTITY ids to the pooled tasks_seq sequence on PostgreSQL.
+-- Run once, before starting the new version, while no application instance is writing.
+-- The INCREMENT BY value is the id allocation size; Hibernate adopts it if it differs from the entity.
+
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks), false);
@@ -0,0 +1,11 @@
+-- Partial indexes for the open-task filters on PostgreSQL.
+-- H2 has no partial indexes, so these are not declared on the entity;
+-- apply this script once after Hibernate has created the tasks table.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_open_due_date
+    ON tasks (due_date)
+    WHERE completed = false;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_open_priority_due_date
+    ON tasks (priority, due_date)
+    WHERE completed = false;
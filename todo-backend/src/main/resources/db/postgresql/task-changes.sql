@@ -0,0 +1,10 @@
+-- Change counter for the tasks table on PostgreSQL, where spring.sql.init does not run.
+-- Apply once before starting the application, and set the todo.tasks.changes.* statements for
+-- PostgreSQL (see application.properties). Writes made directly in SQL should draw a value after
+-- they commit, as the application does, or clients may keep a stale list until the next write:
+--   SELECT nextval('task_changes_seq');
+
+CREATE SEQUENCE IF NOT EXISTS task_changes_seq START WITH 1;
+
+-- Replaced by task_changes_seq
+DROP TABLE IF EXISTS task_changes;
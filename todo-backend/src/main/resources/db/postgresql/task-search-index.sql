@@ -0,0 +1,10 @@
+-- GIN index for GET /tasks/search with todo.search.engine=postgresql.
+-- The expression must stay identical to PostgresTaskSearchIndex.DOCUMENT for the planner to use it.
+-- PostgreSQL maintains it within every writing transaction, so search results are never stale.
+-- Apply once after Hibernate has created the tasks table.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search
+    ON tasks USING GIN ((
+        setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ));
@@ -0,0 +1,63 @@
+package com.example.todo.todobackend.component;
+
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Component test for sequence-based id generation.
+ * Verifies that bulk inserts are sent to the database in JDBC batches.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class TaskBatchInsertComponentTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testSaveAllBatchesInserts() {
+        // Arrange
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            tasks.add(new Task("Batch Insert Task " + i, "Description " + i));
+        }
+        
+        // Act
+        List<Task> saved = taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        
+        // Assert - ids come from the sequence before the flush
+        assertTrue(saved.stream().allMatch(t -> t.getId() != null));
+        assertEquals(120, saved.stream().map(Task::getId).distinct().count());
+        
+        // 3 sequence calls (allocation size 50) plus 3 insert batches (batch size 50),
+        // instead of one statement per row with IDENTITY
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "Expected batched inserts but prepared " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.todo.todobackend.component;
 
 import com.example.todo.todobackend.controller.TaskController;
+import com.example.todo.todobackend.dto.TaskView;
 import com.example.todo.todobackend.model.Task;
 import com.example.todo.todobackend.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -79,7 +80,7 @@ public class TaskControllerComponentTest {
     @Test
     void testGetAllTasks() throws Exception {
         // Arrange
-        when(taskService.getAllTasks()).thenReturn(taskList);
+        when(taskService.getAllTasks()).thenReturn(views(taskList));
 
         // Act & Assert
         mockMvc.perform(get("/tasks"))
@@ -183,15 +184,13 @@ public class TaskControllerComponentTest {
     @Test
     void testDeleteTask_ExistingTask() throws Exception {
         // Arrange
-        when(taskService.getTaskById(1L)).thenReturn(Optional.of(sampleTask));
-        doNothing().when(taskService).deleteTask(1L);
+        when(taskService.deleteTask(1L)).thenReturn(true);
 
         // Act & Assert
         mockMvc.perform(delete("/tasks/1"))
                 .andExpect(status().isNoContent());
 
         // Verify
-        verify(taskService, times(1)).getTaskById(1L);
         verify(taskService, times(1)).deleteTask(1L);
     }
 
@@ -202,7 +201,7 @@ public class TaskControllerComponentTest {
         completedTask.setId(1L);
         completedTask.setCompleted(true);
         
-        when(taskService.markTaskCompleted(1L)).thenReturn(completedTask);
+        when(taskService.markTaskCompleted(1L, null)).thenReturn(completedTask);
 
         // Act & Assert
         mockMvc.perform(patch("/tasks/1/complete"))
@@ -212,14 +211,14 @@ public class TaskControllerComponentTest {
                 .andExpect(jsonPath("$.completed", is(true)));
 
         // Verify
-        verify(taskService, times(1)).markTaskCompleted(1L);
+        verify(taskService, times(1)).markTaskCompleted(1L, null);
     }
 
     @Test
     void testGetTasksByPriority() throws Exception {
         // Arrange
         List<Task> highPriorityTasks = Collections.singletonList(taskList.get(1)); // Task 2 is HIGH priority
-        when(taskService.getTasksByPriority(Task.Priority.HIGH)).thenReturn(highPriorityTasks);
+        when(taskService.getTasksByPriority(Task.Priority.HIGH)).thenReturn(views(highPriorityTasks));
 
         // Act & Assert
         mockMvc.perform(get("/tasks/priority/HIGH"))
@@ -237,7 +236,7 @@ public class TaskControllerComponentTest {
     void testGetTasksByCompletionStatus() throws Exception {
         // Arrange
         List<Task> completedTasks = Collections.singletonList(taskList.get(2)); // Task 3 is completed
-        when(taskService.getTasksByCompletionStatus(true)).thenReturn(completedTasks);
+        when(taskService.getTasksByCompletionStatus(true)).thenReturn(views(completedTasks));
 
         // Act & Assert
         mockMvc.perform(get("/tasks/status/true"))
@@ -257,7 +256,7 @@ public class TaskControllerComponentTest {
         Date dueDate = dateFormat.parse("2025-12-31");
         List<Task> tasksWithDueDate = Collections.singletonList(sampleTask);
         
-        when(taskService.getTasksByDueDate(any(Date.class))).thenReturn(tasksWithDueDate);
+        when(taskService.getTasksByDueDate(any(Date.class))).thenReturn(views(tasksWithDueDate));
 
         // Act & Assert
         mockMvc.perform(get("/tasks/due-date/2025-12-31"))
@@ -287,4 +286,8 @@ public class TaskControllerComponentTest {
         mockMvc.perform(get("/tasks/due-date/not-a-date"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    private static List<TaskView> views(List<Task> tasks) {
+        return tasks.stream().map(TaskView::of).toList();
+    }
+}
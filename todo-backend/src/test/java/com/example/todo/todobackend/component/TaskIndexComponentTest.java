@@ -0,0 +1,149 @@
+package com.example.todo.todobackend.component;
+
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.repository.TaskRepository;
+import com.example.todo.todobackend.repository.TaskSpecifications;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Component test for the tasks table indexes.
+ * Captures the SQL Hibernate generates for each TaskRepository finder and
+ * asserts via EXPLAIN that H2 answers it from an index instead of a table scan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.todo.todobackend.component.TaskIndexComponentTest$CapturingStatementInspector")
+@ActiveProfiles("test")
+public class TaskIndexComponentTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Date dueDate = Date.valueOf("2025-06-01");
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        for (Task.Priority priority : Task.Priority.values()) {
+            for (int i = 0; i < 10; i++) {
+                Task task = new Task("Index Test Task " + i, "Description " + i, priority,
+                        Date.valueOf("2025-06-" + String.format("%02d", i + 1)));
+                task.setCompleted(i % 2 == 0);
+                taskRepository.save(task);
+            }
+        }
+        taskRepository.flush();
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void testFindByPriorityUsesIndex() {
+        taskRepository.findByPriority(Task.Priority.HIGH);
+        assertUsesIndex("HIGH");
+    }
+
+    @Test
+    void testFindByCompletedUsesIndex() {
+        taskRepository.findByCompleted(false);
+        assertUsesIndex(false);
+    }
+
+    @Test
+    void testFindByPriorityAndCompletedUsesIndex() {
+        taskRepository.findByPriorityAndCompleted(Task.Priority.HIGH, false);
+        assertUsesIndex("HIGH", false);
+    }
+
+    @Test
+    void testFindByDueDateUsesIndex() {
+        taskRepository.findByDueDate(dueDate);
+        assertUsesIndex(dueDate);
+    }
+
+    @Test
+    void testFindByDueDateBeforeUsesIndex() {
+        taskRepository.findByDueDateBefore(dueDate);
+        assertUsesIndex(dueDate);
+    }
+
+    @Test
+    void testFindByDueDateAfterUsesIndex() {
+        taskRepository.findByDueDateAfter(dueDate);
+        assertUsesIndex(dueDate);
+    }
+
+    @Test
+    void testFindByPriorityAndDueDateUsesIndex() {
+        taskRepository.findByPriorityAndDueDate(Task.Priority.HIGH, dueDate);
+        assertUsesIndex("HIGH", dueDate);
+    }
+
+    @Test
+    void testSpecificationQueryUsesIndex() {
+        Date dueTo = Date.valueOf("2025-06-05");
+        taskRepository.findAll(Specification
+                .where(TaskSpecifications.priorityIn(Arrays.asList(Task.Priority.HIGH, Task.Priority.LOW)))
+                .and(TaskSpecifications.dueFrom(dueDate))
+                .and(TaskSpecifications.dueTo(dueTo)));
+        assertUsesIndex("HIGH", "LOW", dueDate, dueTo);
+    }
+
+    private void assertUsesIndex(Object... parameters) {
+        String sql = CapturingStatementInspector.lastSelect();
+        assertNotNull(sql, "No SELECT statement was captured");
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+
+        assertFalse(plan.contains("tableScan"), "Expected an index lookup but got: " + plan);
+        assertTrue(plan.toUpperCase().contains("IDX_TASKS_"), "Expected a tasks index in: " + plan);
+    }
+
+    /**
+     * Records the SQL Hibernate sends to the database so the test can EXPLAIN it.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        static void clear() {
+            synchronized (STATEMENTS) {
+                STATEMENTS.clear();
+            }
+        }
+
+        static String lastSelect() {
+            synchronized (STATEMENTS) {
+                for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+                    if (STATEMENTS.get(i).trim().toLowerCase().startsWith("select")) {
+                        return STATEMENTS.get(i);
+                    }
+                }
+                return null;
+            }
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package com.example.todo.todobackend.component;
 
+import com.example.todo.todobackend.dto.TaskView;
 import com.example.todo.todobackend.model.Task;
 import com.example.todo.todobackend.repository.TaskRepository;
+import com.example.todo.todobackend.repository.TaskSpecifications;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +40,9 @@ public class TaskRepositoryComponentTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private SimpleDateFormat dateFormat;
     private Task task1;
     private Task task2;
@@ -90,9 +106,9 @@ public class TaskRepositoryComponentTest {
     @Test
     void testFindByPriority() {
         // Act
-        List<Task> highPriorityTasks = taskRepository.findByPriority(Task.Priority.HIGH);
-        List<Task> mediumPriorityTasks = taskRepository.findByPriority(Task.Priority.MEDIUM);
-        List<Task> lowPriorityTasks = taskRepository.findByPriority(Task.Priority.LOW);
+        List<TaskView> highPriorityTasks = taskRepository.findByPriority(Task.Priority.HIGH);
+        List<TaskView> mediumPriorityTasks = taskRepository.findByPriority(Task.Priority.MEDIUM);
+        List<TaskView> lowPriorityTasks = taskRepository.findByPriority(Task.Priority.LOW);
         
         // Assert
         assertEquals(1, highPriorityTasks.size());
@@ -108,8 +124,8 @@ public class TaskRepositoryComponentTest {
     @Test
     void testFindByCompleted() {
         // Act
-        List<Task> completedTasks = taskRepository.findByCompleted(true);
-        List<Task> incompleteTasks = taskRepository.findByCompleted(false);
+        List<TaskView> completedTasks = taskRepository.findByCompleted(true);
+        List<TaskView> incompleteTasks = taskRepository.findByCompleted(false);
         
         // Assert
         assertEquals(1, completedTasks.size());
@@ -123,9 +139,9 @@ public class TaskRepositoryComponentTest {
     @Test
     void testFindByPriorityAndCompleted() {
         // Act
-        List<Task> highIncompleteTasks = taskRepository.findByPriorityAndCompleted(Task.Priority.HIGH, false);
-        List<Task> mediumCompletedTasks = taskRepository.findByPriorityAndCompleted(Task.Priority.MEDIUM, true);
-        List<Task> lowCompletedTasks = taskRepository.findByPriorityAndCompleted(Task.Priority.LOW, true);
+        List<TaskView> highIncompleteTasks = taskRepository.findByPriorityAndCompleted(Task.Priority.HIGH, false);
+        List<TaskView> mediumCompletedTasks = taskRepository.findByPriorityAndCompleted(Task.Priority.MEDIUM, true);
+        List<TaskView> lowCompletedTasks = taskRepository.findByPriorityAndCompleted(Task.Priority.LOW, true);
         
         // Assert
         assertEquals(1, highIncompleteTasks.size());
@@ -140,9 +156,9 @@ public class TaskRepositoryComponentTest {
     @Test
     void testFindByDueDate() {
         // Act
-        List<Task> tasksForToday = taskRepository.findByDueDate(today);
-        List<Task> tasksForTomorrow = taskRepository.findByDueDate(tomorrow);
-        List<Task> tasksForYesterday = taskRepository.findByDueDate(yesterday);
+        List<TaskView> tasksForToday = taskRepository.findByDueDate(today);
+        List<TaskView> tasksForTomorrow = taskRepository.findByDueDate(tomorrow);
+        List<TaskView> tasksForYesterday = taskRepository.findByDueDate(yesterday);
         
         // Assert
         assertEquals(1, tasksForToday.size());
@@ -158,7 +174,7 @@ public class TaskRepositoryComponentTest {
     @Test
     void testFindByDueDateBefore() {
         // Act
-        List<Task> tasksDueBefore = taskRepository.findByDueDateBefore(tomorrow);
+        List<TaskView> tasksDueBefore = taskRepository.findByDueDateBefore(tomorrow);
         
         // Assert
         assertEquals(2, tasksDueBefore.size());
@@ -169,7 +185,7 @@ public class TaskRepositoryComponentTest {
     @Test
     void testFindByDueDateAfter() {
         // Act
-        List<Task> tasksDueAfter = taskRepository.findByDueDateAfter(yesterday);
+        List<TaskView> tasksDueAfter = taskRepository.findByDueDateAfter(yesterday);
         
         // Assert
         assertEquals(2, tasksDueAfter.size());
@@ -237,8 +253,8 @@ public class TaskRepositoryComponentTest {
     @Test
     void testFindByPriorityAndDueDate() {
         // Act
-        List<Task> highPriorityTodayTasks = taskRepository.findByPriorityAndDueDate(Task.Priority.HIGH, today);
-        List<Task> mediumPriorityTomorrowTasks = taskRepository.findByPriorityAndDueDate(Task.Priority.MEDIUM, tomorrow);
+        List<TaskView> highPriorityTodayTasks = taskRepository.findByPriorityAndDueDate(Task.Priority.HIGH, today);
+        List<TaskView> mediumPriorityTomorrowTasks = taskRepository.findByPriorityAndDueDate(Task.Priority.MEDIUM, tomorrow);
         
         // Assert
         assertEquals(1, highPriorityTodayTasks.size());
@@ -247,4 +263,148 @@ public class TaskRepositoryComponentTest {
         assertEquals(1, mediumPriorityTomorrowTasks.size());
         assertEquals("Repository Test Task 2", mediumPriorityTomorrowTasks.get(0).getTitle());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindAllBySpecifications() {
+        // Act
+        List<Task> openHighOrLow = taskRepository.findAll(Specification
+                .where(TaskSpecifications.priorityIn(Arrays.asList(Task.Priority.HIGH, Task.Priority.LOW)))
+                .and(TaskSpecifications.completed(false)), Sort.by("id"));
+        List<Task> dueTodayOrLater = taskRepository.findAll(Specification
+                .where(TaskSpecifications.dueFrom(today))
+                .and(TaskSpecifications.dueTo(tomorrow)), Sort.by("id"));
+        List<Task> unfiltered = taskRepository.findAll(Specification
+                .where(TaskSpecifications.priorityIn(null))
+                .and(TaskSpecifications.completed(null)));
+        
+        // Assert
+        assertEquals(Arrays.asList(task1.getId(), task3.getId()), openHighOrLow.stream().map(Task::getId).toList());
+        assertEquals(Arrays.asList(task1.getId(), task2.getId()), dueTodayOrLater.stream().map(Task::getId).toList());
+        assertEquals(3, unfiltered.size());
+    }
+
+    @Test
+    void testFindAllBySpecificationPaged() {
+        // Act
+        Page<Task> page = taskRepository.findAll(TaskSpecifications.dueTo(tomorrow),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "dueDate")));
+        
+        // Assert
+        assertEquals(3, page.getTotalElements());
+        assertEquals(Arrays.asList(task2.getId(), task1.getId()), page.getContent().stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void testAggregateCounts() {
+        // Arrange: an open task without a due date
+        taskRepository.save(new Task("Repository Test Task 4", "Description 4", Task.Priority.HIGH));
+        
+        // Act
+        List<TaskRepository.PriorityStatusCount> byPriority = taskRepository.countByPriorityAndCompleted();
+        List<TaskRepository.PriorityCount> overdue = taskRepository.countOpenDueBeforeByPriority(today);
+        List<TaskRepository.MonthCount> byMonth = taskRepository.countOpenByDueMonth();
+        
+        // Assert
+        assertEquals(3, byPriority.size());
+        TaskRepository.PriorityStatusCount high = byPriority.stream()
+                .filter(count -> count.getPriority() == Task.Priority.HIGH).findFirst().orElseThrow();
+        assertFalse(high.getCompleted());
+        assertEquals(2, high.getCount());
+        
+        // Only task 3 is open and due before today
+        assertEquals(1, overdue.size());
+        assertEquals(Task.Priority.LOW, overdue.get(0).getPriority());
+        assertEquals(1, overdue.get(0).getCount());
+        
+        // Three open tasks: one without a due date (sorted first), two with one
+        assertEquals(3, byMonth.stream().mapToLong(TaskRepository.MonthCount::getCount).sum());
+        assertNull(byMonth.get(0).getYear());
+        assertEquals(1, byMonth.get(0).getCount());
+    }
+
+    @Test
+    void testFindByIdGreaterThanOrderByIdAsc() {
+        // Act
+        List<TaskView> firstPage = taskRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2));
+        List<TaskView> secondPage = taskRepository.findByIdGreaterThanOrderByIdAsc(firstPage.get(1).getId(), Limit.of(2));
+        
+        // Assert
+        assertEquals(2, firstPage.size());
+        assertEquals(task1.getId(), firstPage.get(0).getId());
+        assertEquals(task2.getId(), firstPage.get(1).getId());
+        
+        assertEquals(1, secondPage.size());
+        assertEquals(task3.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void testFindAllByOrderByIdAsc() {
+        // Act
+        List<TaskView> cappedTasks = taskRepository.findAllByOrderByIdAsc(Limit.of(2));
+        
+        // Assert
+        assertEquals(2, cappedTasks.size());
+        assertEquals(task1.getId(), cappedTasks.get(0).getId());
+    }
+
+    @Test
+    void testFindFields() {
+        // Act
+        List<Map<String, Object>> openTasks = taskRepository.findFields(Arrays.asList("title", "priority", "id"),
+                TaskSpecifications.completed(false), Limit.unlimited());
+        List<Map<String, Object>> cappedTasks = taskRepository.findFields(Arrays.asList("id", "dueDate"),
+                null, Limit.of(2));
+        
+        // Assert
+        assertEquals(2, openTasks.size());
+        assertEquals(Arrays.asList("title", "priority", "id"), new ArrayList<>(openTasks.get(0).keySet()));
+        assertEquals("Repository Test Task 1", openTasks.get(0).get("title"));
+        assertEquals(Task.Priority.HIGH, openTasks.get(0).get("priority"));
+        assertEquals(task3.getId(), openTasks.get(1).get("id"));
+        
+        assertEquals(2, cappedTasks.size());
+        assertEquals(task1.getId(), cappedTasks.get(0).get("id"));
+        assertEquals(dateFormat.format(today), dateFormat.format((Date) cappedTasks.get(0).get("dueDate")));
+    }
+
+    @Test
+    void testProjectionsAndQueryPagesAreNotTracked() {
+        // Arrange
+        entityManager.flush();
+        entityManager.clear();
+        PersistenceContext persistenceContext =
+                entityManager.unwrap(SessionImplementor.class).getPersistenceContextInternal();
+        
+        // Act
+        List<TaskView> openTasks = taskRepository.findByCompleted(false);
+        
+        // Assert
+        assertEquals(2, openTasks.size());
+        assertEquals(0, persistenceContext.getNumberOfManagedEntities());
+        
+        // Act
+        Page<Task> page = taskRepository.findAll(TaskSpecifications.completed(false), PageRequest.of(0, 10));
+        
+        // Assert
+        assertEquals(2, page.getNumberOfElements());
+        assertTrue(page.getContent().stream().allMatch(persistenceContext::isReadOnly));
+    }
+
+    @Test
+    void testSingleColumnUpdates() {
+        // Act
+        int completedRows = taskRepository.updateCompleted(task1.getId(), true, null);
+        int priorityRows = taskRepository.updatePriority(task1.getId(), Task.Priority.LOW, null);
+        int missingRows = taskRepository.updateDueDate(-1L, tomorrow, null);
+        
+        // Assert
+        assertEquals(1, completedRows);
+        assertEquals(1, priorityRows);
+        assertEquals(0, missingRows);
+        
+        Task reloaded = taskRepository.findById(task1.getId()).get();
+        assertTrue(reloaded.isCompleted());
+        assertEquals(Task.Priority.LOW, reloaded.getPriority());
+        assertEquals("Repository Test Task 1", reloaded.getTitle());
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.todo.todobackend.component;
 
+import com.example.todo.todobackend.dto.BatchItemResult;
+import com.example.todo.todobackend.dto.TaskPatch;
+import com.example.todo.todobackend.dto.TaskView;
 import com.example.todo.todobackend.model.Task;
 import com.example.todo.todobackend.repository.TaskRepository;
+import com.example.todo.todobackend.search.InMemoryTaskSearchIndex;
+import com.example.todo.todobackend.service.TaskChangeCounter;
+import com.example.todo.todobackend.service.TaskEventBroadcaster;
 import com.example.todo.todobackend.service.TaskService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,9 +16,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -24,7 +33,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * Tests the service and repository integration without mocking the database layer.
  */
 @DataJpaTest
-@Import(TaskService.class)
+@Import({TaskService.class, TaskChangeCounter.class, TaskEventBroadcaster.class, InMemoryTaskSearchIndex.class})
 @ActiveProfiles("test")
 public class TaskServiceComponentTest {
 
@@ -69,7 +78,7 @@ public class TaskServiceComponentTest {
     @Test
     void testGetAllTasks() {
         // Act
-        List<Task> tasks = taskService.getAllTasks();
+        List<TaskView> tasks = taskService.getAllTasks();
         
         // Assert
         assertEquals(3, tasks.size());
@@ -92,7 +101,7 @@ public class TaskServiceComponentTest {
     @Test
     void testGetTasksByPriority() {
         // Act
-        List<Task> highPriorityTasks = taskService.getTasksByPriority(Task.Priority.HIGH);
+        List<TaskView> highPriorityTasks = taskService.getTasksByPriority(Task.Priority.HIGH);
         
         // Assert
         assertEquals(1, highPriorityTasks.size());
@@ -102,8 +111,8 @@ public class TaskServiceComponentTest {
     @Test
     void testGetTasksByCompletionStatus() {
         // Act
-        List<Task> completedTasks = taskService.getTasksByCompletionStatus(true);
-        List<Task> incompleteTasks = taskService.getTasksByCompletionStatus(false);
+        List<TaskView> completedTasks = taskService.getTasksByCompletionStatus(true);
+        List<TaskView> incompleteTasks = taskService.getTasksByCompletionStatus(false);
         
         // Assert
         assertEquals(1, completedTasks.size());
@@ -162,14 +171,14 @@ public class TaskServiceComponentTest {
         assertFalse(deletedTask.isPresent());
         
         // Verify we now have 2 tasks instead of 3
-        List<Task> remainingTasks = taskService.getAllTasks();
+        List<TaskView> remainingTasks = taskService.getAllTasks();
         assertEquals(2, remainingTasks.size());
     }
 
     @Test
     void testMarkTaskCompleted() {
         // Act
-        Task completedTask = taskService.markTaskCompleted(task1.getId());
+        Task completedTask = taskService.markTaskCompleted(task1.getId(), null);
         
         // Assert
         assertTrue(completedTask.isCompleted());
@@ -183,7 +192,7 @@ public class TaskServiceComponentTest {
     @Test
     void testMarkTaskNotCompleted() {
         // Act
-        Task incompletedTask = taskService.markTaskNotCompleted(task2.getId());
+        Task incompletedTask = taskService.markTaskNotCompleted(task2.getId(), null);
         
         // Assert
         assertFalse(incompletedTask.isCompleted());
@@ -197,7 +206,7 @@ public class TaskServiceComponentTest {
     @Test
     void testUpdateTaskPriority() {
         // Act
-        Task updatedTask = taskService.updateTaskPriority(task3.getId(), Task.Priority.HIGH);
+        Task updatedTask = taskService.updateTaskPriority(task3.getId(), Task.Priority.HIGH, null);
         
         // Assert
         assertEquals(Task.Priority.HIGH, updatedTask.getPriority());
@@ -214,7 +223,7 @@ public class TaskServiceComponentTest {
         Date dueDate = dateFormat.parse("2025-01-15");
         
         // Act
-        List<Task> tasksWithDueDate = taskService.getTasksByDueDate(dueDate);
+        List<TaskView> tasksWithDueDate = taskService.getTasksByDueDate(dueDate);
         
         // Assert
         assertEquals(1, tasksWithDueDate.size());
@@ -227,7 +236,7 @@ public class TaskServiceComponentTest {
         Date date = dateFormat.parse("2025-02-01");
         
         // Act
-        List<Task> tasksDueBefore = taskService.getTasksDueBefore(date);
+        List<TaskView> tasksDueBefore = taskService.getTasksDueBefore(date);
         
         // Assert
         assertEquals(1, tasksDueBefore.size());
@@ -240,7 +249,7 @@ public class TaskServiceComponentTest {
         Date date = dateFormat.parse("2025-02-01");
         
         // Act
-        List<Task> tasksDueAfter = taskService.getTasksDueAfter(date);
+        List<TaskView> tasksDueAfter = taskService.getTasksDueAfter(date);
         
         // Assert
         assertEquals(2, tasksDueAfter.size());
@@ -254,7 +263,7 @@ public class TaskServiceComponentTest {
         Date newDueDate = dateFormat.parse("2025-12-31");
         
         // Act
-        Task updatedTask = taskService.updateTaskDueDate(task1.getId(), newDueDate);
+        Task updatedTask = taskService.updateTaskDueDate(task1.getId(), newDueDate, null);
         
         // Assert
         assertEquals(newDueDate, updatedTask.getDueDate());
@@ -264,4 +273,129 @@ public class TaskServiceComponentTest {
         assertTrue(retrievedTask.isPresent());
         assertEquals(dateFormat.format(newDueDate), dateFormat.format(retrievedTask.get().getDueDate()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testExportTasks() {
+        // Act
+        List<String> exportedTitles = new ArrayList<>();
+        taskService.exportTasks(task -> exportedTitles.add(task.getTitle()));
+        
+        // Assert - tasks are exported in id order
+        assertEquals(List.of("Component Test Task 1", "Component Test Task 2", "Component Test Task 3"), exportedTitles);
+    }
+
+    @Test
+    void testCreateTasksInBatch() {
+        // Act
+        List<BatchItemResult> results = taskService.createTasks(List.of(
+                new Task("Batch Task 1", "Batch description 1"),
+                new Task("Batch Task 2", "Batch description 2")));
+        
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(BatchItemResult.Status.CREATED, results.get(1).getStatus());
+        assertTrue(taskRepository.findById(results.get(0).getId()).isPresent());
+        assertEquals(5, taskRepository.count());
+    }
+
+    @Test
+    void testUpdateTasksInBatch() {
+        // Arrange - task1 only changes priority, task2 clears its description
+        TaskPatch priority = new TaskPatch();
+        priority.setId(task1.getId());
+        priority.setPriority(Task.Priority.LOW);
+        TaskPatch clearDescription = new TaskPatch();
+        clearDescription.setId(task2.getId());
+        clearDescription.setDescription(null);
+        TaskPatch unknown = new TaskPatch();
+        unknown.setId(-1L);
+        unknown.setTitle("Unknown");
+        
+        // Act
+        List<BatchItemResult> results = taskService.updateTasks(List.of(priority, clearDescription, unknown));
+        taskRepository.flush();
+        
+        // Assert - fields missing from an item keep their stored values
+        assertEquals(BatchItemResult.Status.UPDATED, results.get(0).getStatus());
+        assertEquals(BatchItemResult.Status.UPDATED, results.get(1).getStatus());
+        assertEquals(BatchItemResult.Status.NOT_FOUND, results.get(2).getStatus());
+        Task reloaded = taskRepository.findById(task1.getId()).get();
+        assertEquals(Task.Priority.LOW, reloaded.getPriority());
+        assertEquals("Component Test Task 1", reloaded.getTitle());
+        assertEquals("Description for task 1", reloaded.getDescription());
+        assertNotNull(reloaded.getDueDate());
+        Task cleared = taskRepository.findById(task2.getId()).get();
+        assertNull(cleared.getDescription());
+        assertTrue(cleared.isCompleted());
+        assertEquals(Task.Priority.MEDIUM, cleared.getPriority());
+    }
+
+    @Test
+    void testUpdateTasksInBatchReportsStaleVersions() {
+        // Arrange
+        TaskPatch stale = new TaskPatch();
+        stale.setId(task1.getId());
+        stale.setVersion(task1.getVersion() + 1);
+        stale.setTitle("Stale edit");
+        TaskPatch current = new TaskPatch();
+        current.setId(task3.getId());
+        current.setVersion(task3.getVersion());
+        current.setCompleted(true);
+        
+        // Act
+        List<BatchItemResult> results = taskService.updateTasks(List.of(stale, current));
+        taskRepository.flush();
+        
+        // Assert - the conflicting item is skipped, the rest of the batch still applies
+        assertEquals(BatchItemResult.Status.CONFLICT, results.get(0).getStatus());
+        assertEquals(BatchItemResult.Status.UPDATED, results.get(1).getStatus());
+        assertEquals("Component Test Task 1", taskRepository.findById(task1.getId()).get().getTitle());
+        assertTrue(taskRepository.findById(task3.getId()).get().isCompleted());
+    }
+
+    @Test
+    void testDeleteTasksInBatch() {
+        // Act
+        List<BatchItemResult> results = taskService.deleteTasks(List.of(task1.getId(), -1L, task3.getId()));
+        
+        // Assert
+        assertEquals(BatchItemResult.Status.DELETED, results.get(0).getStatus());
+        assertEquals(BatchItemResult.Status.NOT_FOUND, results.get(1).getStatus());
+        assertEquals(BatchItemResult.Status.DELETED, results.get(2).getStatus());
+        assertEquals(1, taskRepository.count());
+    }
+    
+    // Runs outside the test transaction, since the counter only moves once a write has committed
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testChangeCountMovesWithEachCommittedWrite() {
+        long initial = taskService.getChangeCount();
+        
+        Task created = taskService.createTask(new Task("Counted task", "Bumps the change count"));
+        assertEquals(initial + 1, taskService.getChangeCount());
+        
+        assertTrue(taskService.setTaskCompleted(created.getId(), true, null));
+        assertEquals(initial + 2, taskService.getChangeCount());
+        
+        // No row matched, so nothing was written
+        assertFalse(taskService.setTaskCompleted(-1L, true, null));
+        assertEquals(initial + 2, taskService.getChangeCount());
+        
+        taskService.deleteTask(created.getId());
+        assertEquals(initial + 3, taskService.getChangeCount());
+        
+        // Deleting it again finds no row, so the count stays put
+        assertFalse(taskService.deleteTask(created.getId()));
+        assertEquals(initial + 3, taskService.getChangeCount());
+    }
+    
+    @Test
+    void testChangeCountWaitsForCommit() {
+        long initial = taskService.getChangeCount();
+        
+        taskService.createTask(new Task("Uncommitted task", "Rolled back with the test transaction"));
+        
+        assertEquals(initial, taskService.getChangeCount());
+    }
+}
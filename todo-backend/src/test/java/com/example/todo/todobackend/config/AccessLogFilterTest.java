@@ -0,0 +1,134 @@
+package com.example.todo.todobackend.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private AccessLogProperties properties;
+    private AccessLogFilter filter;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger accessLogger;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AccessLogProperties();
+        filter = new AccessLogFilter(properties);
+
+        accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+        appender = new ListAppender<>();
+        appender.start();
+        accessLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    void testLogsStructuredEntry() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setContextPath("/api");
+        request.setQueryString("size=10");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        String entry = appender.list.get(0).getFormattedMessage();
+        assertTrue(entry.startsWith("method=GET uri=/api/tasks query=\"size=10\" status=200 durationUs="));
+        assertFalse(entry.contains("payload="));
+    }
+
+    @Test
+    void testPayloadIsOnlyBufferedForConfiguredPaths() throws Exception {
+        properties.setPayloadPaths(List.of("/tasks/batch"));
+        properties.setMaxPayloadLength(8);
+
+        MockHttpServletRequest batchRequest = postRequest("/api/tasks/batch", "[{\"title\":\"a\"}]");
+        MockFilterChain batchChain = new MockFilterChain(new BodyReadingServlet());
+        filter.doFilter(batchRequest, new MockHttpServletResponse(), batchChain);
+
+        MockHttpServletRequest otherRequest = postRequest("/api/tasks", "{\"title\":\"b\"}");
+        MockFilterChain otherChain = new MockFilterChain(new BodyReadingServlet());
+        filter.doFilter(otherRequest, new MockHttpServletResponse(), otherChain);
+
+        assertTrue(batchChain.getRequest() instanceof ContentCachingRequestWrapper);
+        assertFalse(otherChain.getRequest() instanceof ContentCachingRequestWrapper);
+        // The logged payload is truncated to the configured limit
+        assertTrue(appender.list.get(0).getFormattedMessage().endsWith("payload=\"[{\\\"title\""));
+        assertFalse(appender.list.get(1).getFormattedMessage().contains("payload="));
+    }
+
+    @Test
+    void testSamplingSkipsSuccessfulRequestsButKeepsServerErrors() throws Exception {
+        properties.setSampleRate(0.0);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(), new MockFilterChain());
+
+        MockHttpServletResponse errorResponse = new MockHttpServletResponse();
+        errorResponse.setStatus(500);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/1"), errorResponse, new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("status=500"));
+    }
+
+    @Test
+    void testAsyncRequestIsLoggedOnCompletion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new AsyncStartingServlet()));
+
+        assertTrue(appender.list.isEmpty());
+
+        response.setStatus(503);
+        request.getAsyncContext().complete();
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("uri=/api/tasks/export status=503"));
+    }
+
+    private static MockHttpServletRequest postRequest(String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContextPath("/api");
+        request.setContent(body.getBytes());
+        return request;
+    }
+
+    // Hands the response to another thread the way StreamingResponseBody and SseEmitter do
+    private static class AsyncStartingServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            request.startAsync(request, response);
+        }
+    }
+
+    // Consumes the request body the way a message converter would
+    private static class BodyReadingServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            request.getInputStream().readAllBytes();
+        }
+    }
+}
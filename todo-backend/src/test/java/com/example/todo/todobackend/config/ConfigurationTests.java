@@ -4,10 +4,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
-import org.springframework.web.filter.CommonsRequestLoggingFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.model.Task;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,11 +37,22 @@ class ConfigurationTests {
     }
 
     @Test
-    void testRequestLoggingFilterBeans() {
-        // Verify that a CommonsRequestLoggingFilter bean exists (not checking specific bean name)
-        assertTrue(context.getBeanNamesForType(CommonsRequestLoggingFilter.class).length > 0);
+    void testTaskSerializersAreRegistered() throws Exception {
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        assertInstanceOf(TaskJsonSerializers.TaskSerializer.class,
+                objectMapper.getSerializerProviderInstance().findValueSerializer(Task.class));
+        assertInstanceOf(TaskJsonSerializers.TaskViewSerializer.class,
+                objectMapper.getSerializerProviderInstance().findValueSerializer(TaskView.class));
+    }
+
+    @Test
+    void testAccessLogFilterBeans() {
+        // Verify that the access log filter is registered
+        assertTrue(context.containsBean("accessLogFilter"));
+        Object registration = context.getBean("accessLogFilter");
+        assertTrue(registration instanceof FilterRegistrationBean);
+        assertTrue(((FilterRegistrationBean<?>) registration).getFilter() instanceof AccessLogFilter);
         
-        // We can't test protected methods directly, so we'll just verify the bean exists
-        // This is sufficient for a configuration test as the actual behavior is tested elsewhere
+        // The filter behavior itself is covered by AccessLogFilterTest
     }
 }
\ No newline at end of file
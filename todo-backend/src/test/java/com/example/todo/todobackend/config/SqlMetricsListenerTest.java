@@ -0,0 +1,133 @@
+package com.example.todo.todobackend.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlMetricsListenerTest {
+
+    private SimpleMeterRegistry registry;
+    private SqlMetricsProperties properties;
+    private SqlMetricsListener listener;
+    private DataSource dataSource;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger listenerLogger;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new SqlMetricsProperties();
+        listener = new SqlMetricsListener(registry, properties);
+
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-metrics");
+        dataSource = ProxyDataSourceBuilder.create(h2).listener(listener).build();
+
+        listenerLogger = (Logger) LoggerFactory.getLogger(SqlMetricsListener.class);
+        appender = new ListAppender<>();
+        appender.start();
+        listenerLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listenerLogger.detachAppender(appender);
+    }
+
+    @Test
+    void testRecordsStatementTimersByTypeAndOutcome() throws SQLException {
+        select("select ?, ?", "HIGH", 3);
+        select("select ?, ?", "LOW", 1);
+        assertThrows(SQLException.class, () -> execute("select * from missing_table"));
+
+        assertEquals(2, registry.get("todo.sql.statements").tags("type", "select", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("todo.sql.statements").tags("type", "select", "outcome", "error").timer().count());
+        assertEquals(0, registry.get("todo.sql.slow.statements").counter().count());
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void testRecordsSubMillisecondDurations() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            select("select ?, ?", "HIGH", i);
+        }
+
+        // A millisecond clock would record most of these in-memory statements as zero
+        double totalNanos = registry.get("todo.sql.statements").tags("type", "select", "outcome", "success")
+                .timer().totalTime(TimeUnit.NANOSECONDS);
+        assertTrue(totalNanos > 0);
+        assertNotEquals(0, totalNanos % TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    void testLogsSlowStatementWithBindParameters() throws SQLException {
+        properties.setSlowQueryThreshold(Duration.ZERO);
+
+        select("select ?, ?", "HIGH", 3);
+
+        assertEquals(1, registry.get("todo.sql.slow.statements").counter().count());
+        assertEquals(1, appender.list.size());
+        String entry = appender.list.get(0).getFormattedMessage();
+        assertTrue(entry.startsWith("Slow statement: durationMs="));
+        assertTrue(entry.contains(" type=select success=true sql=\"select ?, ?\" params=[HIGH, 3]"));
+    }
+
+    @Test
+    void testSlowStatementParametersCanBeOmitted() throws SQLException {
+        properties.setSlowQueryThreshold(Duration.ZERO);
+        properties.setLogSlowQueryParameters(false);
+
+        select("select ?, ?", "HIGH", 3);
+
+        String entry = appender.list.get(0).getFormattedMessage();
+        assertTrue(entry.endsWith("sql=\"select ?, ?\""));
+        assertFalse(entry.contains("HIGH"));
+    }
+
+    @Test
+    void testCountsStatementsOnlyWhileRequestIsTracked() throws SQLException {
+        select("select ?, ?", "before", 0);
+
+        SqlMetricsListener.RequestStatements statements = listener.startRequest();
+        select("select ?, ?", "HIGH", 1);
+        select("select ?, ?", "HIGH", 2);
+        execute("select 1");
+        listener.endRequest();
+        select("select ?, ?", "after", 0);
+
+        assertEquals(3, statements.getCount());
+        assertEquals("select ?, ?", statements.mostRepeated().getKey());
+        assertEquals(2, statements.mostRepeated().getValue());
+    }
+
+    private void select(String sql, String first, int second) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, first);
+            statement.setInt(2, second);
+            statement.executeQuery().close();
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.todo.todobackend.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementCountFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private SqlMetricsProperties properties;
+    private SqlMetricsListener listener;
+    private SqlStatementCountFilter filter;
+    private DataSource dataSource;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger filterLogger;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new SqlMetricsProperties();
+        listener = new SqlMetricsListener(registry, properties);
+        filter = new SqlStatementCountFilter(listener, properties, registry);
+
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-request-count");
+        dataSource = ProxyDataSourceBuilder.create(h2).listener(listener).build();
+
+        filterLogger = (Logger) LoggerFactory.getLogger(SqlStatementCountFilter.class);
+        appender = new ListAppender<>();
+        appender.start();
+        filterLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filterLogger.detachAppender(appender);
+    }
+
+    @Test
+    void testRecordsStatementsPerRequest() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(),
+                new MockFilterChain(new QueryingServlet(3)));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        DistributionSummary summary = registry.get("todo.sql.request.statements").summary();
+        assertEquals(2, summary.count());
+        assertEquals(3, summary.totalAmount());
+        assertEquals(0, registry.get("todo.sql.repeated.statement.requests").counter().count());
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void testFlagsRepeatedStatementAsLikelyNPlusOne() throws Exception {
+        properties.setRepeatedStatementThreshold(4);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(),
+                new MockFilterChain(new QueryingServlet(5)));
+
+        assertEquals(1, registry.get("todo.sql.repeated.statement.requests").counter().count());
+        assertEquals(1, appender.list.size());
+        assertEquals("Repeated statement, likely N+1: method=GET uri=/api/tasks statements=5 repeated=5 "
+                + "sql=\"select * from (values (?)) where 1 = 1\"", appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    void testStopsCountingWhenRequestEnds() throws Exception {
+        MockFilterChain failingChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException {
+                throw new ServletException("handler failed");
+            }
+        });
+        assertThrows(ServletException.class, () -> filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"),
+                new MockHttpServletResponse(), failingChain));
+
+        new QueryingServlet(2).service(new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        assertEquals(1, registry.get("todo.sql.request.statements").summary().count());
+        assertEquals(0, registry.get("todo.sql.request.statements").summary().totalAmount());
+    }
+
+    // Looks rows up one at a time, the way lazy loading does for an N+1 pattern
+    private class QueryingServlet extends HttpServlet {
+
+        private final int lookups;
+
+        QueryingServlet(int lookups) {
+            this.lookups = lookups;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException {
+            try (Connection connection = dataSource.getConnection()) {
+                for (int id = 1; id <= lookups; id++) {
+                    try (PreparedStatement statement = connection.prepareStatement("select * from (values (?)) where 1 = 1")) {
+                        statement.setInt(1, id);
+                        statement.executeQuery().close();
+                    }
+                }
+            } catch (SQLException e) {
+                throw new ServletException(e);
+            }
+        }
+    }
+}
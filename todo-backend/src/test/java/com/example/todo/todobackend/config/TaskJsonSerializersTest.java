@@ -0,0 +1,108 @@
+package com.example.todo.todobackend.config;
+
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskJsonSerializersTest {
+
+    private ObjectMapper beanMapper;
+    private ObjectMapper taskMapper;
+
+    @BeforeEach
+    void setUp() {
+        beanMapper = new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder());
+        taskMapper = new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder())
+                .registerModule(TaskJsonSerializers.module());
+    }
+
+    @Test
+    void testTaskJsonMatchesBeanSerialization() throws Exception {
+        for (Task task : tasks()) {
+            assertEquals(beanMapper.writeValueAsString(task), taskMapper.writeValueAsString(task));
+            TaskView view = TaskView.of(task);
+            assertEquals(beanMapper.writeValueAsString(view), taskMapper.writeValueAsString(view));
+        }
+        assertEquals(beanMapper.writeValueAsString(tasks()), taskMapper.writeValueAsString(tasks()));
+    }
+
+    @Test
+    void testWritesDatesAsJacksonDoes() throws Exception {
+        Task task = new Task("Dated", null, Task.Priority.HIGH, new Date(1735700000123L));
+        task.setId(5L);
+        task.setVersion(2L);
+
+        assertEquals("{\"id\":5,\"title\":\"Dated\",\"description\":null,\"completed\":false,\"priority\":\"HIGH\","
+                + "\"dueDate\":\"2025-01-01T02:53:20.123+00:00\",\"version\":2}", taskMapper.writeValueAsString(task));
+
+        task.setDueDate(java.sql.Date.valueOf("2025-03-04"));
+        assertTrue(taskMapper.writeValueAsString(task).contains("\"dueDate\":\"2025-03-04\""));
+    }
+
+    @Test
+    void testFallsBackToJacksonForOtherDateSettings() throws Exception {
+        for (ObjectMapper mapper : List.of(beanMapper, taskMapper)) {
+            mapper.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+        }
+        for (Task task : tasks()) {
+            assertEquals(beanMapper.writeValueAsString(task), taskMapper.writeValueAsString(task));
+        }
+
+        for (ObjectMapper mapper : List.of(beanMapper, taskMapper)) {
+            mapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_ENUMS_USING_INDEX);
+        }
+        for (Task task : tasks()) {
+            assertEquals(beanMapper.writeValueAsString(task), taskMapper.writeValueAsString(task));
+        }
+    }
+
+    @Test
+    void testSqlDatesUseDefaultTimeZone() throws Exception {
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        try {
+            for (String zone : List.of("Pacific/Kiritimati", "America/Los_Angeles", "Europe/London")) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                for (long day = -3; day <= 3; day++) {
+                    Task task = new Task("Zoned", null, Task.Priority.LOW,
+                            new java.sql.Date(1711846800000L + day * 43_200_000L));
+                    assertEquals(beanMapper.writeValueAsString(task), taskMapper.writeValueAsString(task));
+                }
+            }
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+
+    private static List<Task> tasks() {
+        Task full = new Task("Quotes \" and \\ slashes", "Line\nbreak, unicode é ☃", Task.Priority.LOW,
+                new Date(1700000000000L));
+        full.setId(Long.MAX_VALUE);
+        full.setCompleted(true);
+        full.setVersion(7L);
+
+        Task loaded = new Task("Loaded", "From the database", Task.Priority.MEDIUM,
+                java.sql.Date.valueOf("2024-02-29"));
+        loaded.setId(2L);
+        loaded.setVersion(0L);
+
+        Task empty = new Task(null, null);
+        empty.setPriority(null);
+
+        // Dates left to Jackson (before 1583, from year 10000 on) and the last millisecond before the epoch
+        Task julian = new Task("Julian", null, Task.Priority.HIGH, new Date(-13_000_000_000_000L));
+        Task beforeEpoch = new Task("Before epoch", null, Task.Priority.HIGH, new Date(-1L));
+        Task farFuture = new Task("Far future", null, Task.Priority.HIGH, new Date(253_402_300_800_000L));
+        return Arrays.asList(full, loaded, empty, julian, beforeEpoch, farFuture);
+    }
+}
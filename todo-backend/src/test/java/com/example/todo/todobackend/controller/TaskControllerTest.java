@@ -1,27 +1,48 @@
 package com.example.todo.todobackend.controller;
 
+import com.example.todo.todobackend.dto.BatchItemResult;
+import com.example.todo.todobackend.dto.TaskFilter;
+import com.example.todo.todobackend.dto.TaskPage;
+import com.example.todo.todobackend.dto.TaskPatch;
+import com.example.todo.todobackend.dto.TaskSearchPage;
+import com.example.todo.todobackend.dto.TaskStats;
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.event.TaskChangedEvent;
 import com.example.todo.todobackend.model.Task;
 import com.example.todo.todobackend.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
 
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(TaskController.class)
+@WebMvcTest(controllers = TaskController.class, properties = "todo.tasks.stream.heartbeat-interval=50ms")
 class TaskControllerTest {
 
     @Autowired
@@ -72,7 +93,7 @@ class TaskControllerTest {
 
     @Test
     void testGetAllTasks() throws Exception {
-        when(taskService.getAllTasks()).thenReturn(taskList);
+        when(taskService.getAllTasks()).thenReturn(views(taskList));
 
         mockMvc.perform(get("/tasks"))
                 .andExpect(status().isOk())
@@ -86,6 +107,172 @@ class TaskControllerTest {
         verify(taskService, times(1)).getAllTasks();
     }
 
+    @Test
+    void testGetTasksPage() throws Exception {
+        when(taskService.getTasksPage("abc", 2)).thenReturn(new TaskPage(views(taskList.subList(0, 2)), "next"));
+
+        mockMvc.perform(get("/tasks/page").param("cursor", "abc").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.nextCursor", is("next")))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+
+        verify(taskService, times(1)).getTasksPage("abc", 2);
+    }
+
+    @Test
+    void testGetTasksPage_InvalidCursor() throws Exception {
+        when(taskService.getTasksPage("bad", null)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/tasks/page").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetTaskStats() throws Exception {
+        TaskStats.StatusCounts high = new TaskStats.StatusCounts();
+        high.add(false, 2);
+        high.add(true, 1);
+        TaskStats stats = new TaskStats(java.time.LocalDate.of(2025, 6, 1),
+                Collections.singletonMap(Task.Priority.HIGH, high), 1, 2,
+                Collections.singletonMap(Task.Priority.HIGH, 1L), 1,
+                Collections.singletonMap("2025-06", 1L), 1);
+        when(taskService.getTaskStats()).thenReturn(stats);
+
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.date", is("2025-06-01")))
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.byPriority.HIGH.open", is(2)))
+                .andExpect(jsonPath("$.byPriority.HIGH.total", is(3)))
+                .andExpect(jsonPath("$.overdue", is(1)))
+                .andExpect(jsonPath("$.overdueByPriority.HIGH", is(1)))
+                .andExpect(jsonPath("$.openByDueMonth['2025-06']", is(1)))
+                .andExpect(jsonPath("$.openWithoutDueDate", is(1)));
+    }
+
+    @Test
+    void testQueryTasks() throws Exception {
+        when(taskService.queryTasks(any(TaskFilter.class), eq(1), eq(2), eq(Arrays.asList("dueDate", "desc"))))
+                .thenReturn(new PageImpl<>(views(taskList.subList(0, 2)), PageRequest.of(1, 2), 5));
+
+        mockMvc.perform(get("/tasks/query")
+                .param("priority", "HIGH", "LOW")
+                .param("completed", "false")
+                .param("dueFrom", "2025-01-01")
+                .param("dueTo", "2025-01-31")
+                .param("page", "1")
+                .param("size", "2")
+                .param("sort", "dueDate,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.page.number", is(1)))
+                .andExpect(jsonPath("$.page.totalElements", is(5)))
+                .andExpect(jsonPath("$.page.totalPages", is(3)));
+
+        ArgumentCaptor<TaskFilter> filter = ArgumentCaptor.forClass(TaskFilter.class);
+        verify(taskService).queryTasks(filter.capture(), eq(1), eq(2), anyList());
+        assertEquals(Arrays.asList(Task.Priority.HIGH, Task.Priority.LOW), filter.getValue().getPriorities());
+        assertEquals(Boolean.FALSE, filter.getValue().getCompleted());
+        assertEquals(dateFormat.parse("2025-01-01"), filter.getValue().getDueFrom());
+        assertEquals(dateFormat.parse("2025-01-31"), filter.getValue().getDueTo());
+    }
+
+    @Test
+    void testQueryTasks_InvalidParameters() throws Exception {
+        when(taskService.queryTasks(any(TaskFilter.class), isNull(), isNull(), eq(Collections.singletonList("priority"))))
+                .thenThrow(new IllegalArgumentException("Unsupported sort"));
+
+        mockMvc.perform(get("/tasks/query").param("sort", "priority"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks/query").param("priority", "URGENT"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks/query").param("dueFrom", "01/01/2025"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchTasks() throws Exception {
+        when(taskService.searchTasks("test", 0, 10)).thenReturn(new TaskSearchPage(views(taskList.subList(0, 1)), 0, 10, 1));
+
+        mockMvc.perform(get("/tasks/search").param("q", "test").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Test Task")))
+                .andExpect(jsonPath("$.totalHits", is(1)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    void testSearchTasks_InvalidQuery() throws Exception {
+        when(taskService.searchTasks("!", null, null)).thenThrow(new IllegalArgumentException("No words"));
+
+        mockMvc.perform(get("/tasks/search").param("q", "!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportTasks() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(0);
+            taskList.forEach(consumer);
+            return null;
+        }).when(taskService).exportTasks(any());
+
+        MvcResult result = mockMvc.perform(get("/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("Test Task", objectMapper.readValue(lines[0], Task.class).getTitle());
+        assertEquals("Task 3", objectMapper.readValue(lines[2], Task.class).getTitle());
+    }
+
+    @Test
+    void testStreamTasks() throws Exception {
+        when(taskService.streamTaskChanges()).thenReturn(Flux.just(
+                new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 7L),
+                new TaskChangedEvent(TaskChangedEvent.Type.DELETED, 3L)));
+
+        MvcResult result = mockMvc.perform(get("/tasks/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("event:created\ndata:{\"type\":\"CREATED\",\"taskId\":7}\n\n"
+                + "event:deleted\ndata:{\"type\":\"DELETED\",\"taskId\":3}\n\n", body);
+    }
+
+    @Test
+    void testStreamTasks_Heartbeat() throws Exception {
+        when(taskService.streamTaskChanges()).thenReturn(Flux.never());
+
+        MvcResult result = mockMvc.perform(get("/tasks/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.getResponse().getContentAsString().contains(":heartbeat")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(result.getResponse().getContentAsString().startsWith(":heartbeat\n\n"));
+    }
+
     @Test
     void testGetTaskById_ExistingTask() throws Exception {
         when(taskService.getTaskById(1L)).thenReturn(Optional.of(sampleTask));
@@ -102,6 +289,111 @@ class TaskControllerTest {
         verify(taskService, times(1)).getTaskById(1L);
     }
 
+    @Test
+    void testGetAllTasks_ReturnsCollectionETag() throws Exception {
+        when(taskService.getChangeCount()).thenReturn(42L);
+        when(taskService.getAllTasks()).thenReturn(views(taskList));
+
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"tasks-42\""));
+    }
+
+    @Test
+    void testGetAllTasks_WithFields() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1);
+        row.put("title", "Test Task");
+        when(taskService.getChangeCount()).thenReturn(42L);
+        when(taskService.getTaskFields(eq(Arrays.asList("id", "title")), isNull()))
+                .thenReturn(Collections.singletonList(row));
+
+        MvcResult result = mockMvc.perform(get("/tasks").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].title", is("Test Task")))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(header().string("ETag", org.hamcrest.Matchers.startsWith("W/\"tasks-42-")))
+                .andReturn();
+
+        // Each field list is its own representation with its own ETag
+        mockMvc.perform(get("/tasks").param("fields", "id,title")
+                        .header("If-None-Match", result.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/tasks").param("fields", "id").header("If-None-Match", "\"tasks-42\""))
+                .andExpect(status().isOk());
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    void testGetTasksByPriority_WithFields() throws Exception {
+        when(taskService.getTaskFields(eq(Collections.singletonList("title")), any()))
+                .thenReturn(Collections.singletonList(Collections.singletonMap("title", "Task 2")));
+
+        mockMvc.perform(get("/tasks/priority/HIGH").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Task 2")))
+                .andExpect(jsonPath("$[0].priority").doesNotExist());
+
+        verify(taskService, never()).getTasksByPriority(any());
+    }
+
+    @Test
+    void testGetTasksWithUnknownField_BadRequest() throws Exception {
+        when(taskService.getTaskFields(any(), any())).thenThrow(new IllegalArgumentException("Unsupported field"));
+
+        mockMvc.perform(get("/tasks/status/true").param("fields", "owner"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks").param("fields", "owner"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAllTasks_NotModified() throws Exception {
+        when(taskService.getChangeCount()).thenReturn(42L);
+
+        mockMvc.perform(get("/tasks").header("If-None-Match", "\"tasks-42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    void testGetTaskById_ReturnsVersionETag() throws Exception {
+        sampleTask.setVersion(3L);
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(sampleTask));
+
+        mockMvc.perform(get("/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(taskService, never()).getTaskVersion(anyLong());
+    }
+
+    @Test
+    void testGetTaskById_NotModified() throws Exception {
+        when(taskService.getTaskVersion(1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/tasks/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+
+        verify(taskService, never()).getTaskById(anyLong());
+    }
+
+    @Test
+    void testGetTaskById_StaleETag() throws Exception {
+        sampleTask.setVersion(4L);
+        when(taskService.getTaskVersion(1L)).thenReturn(Optional.of(4L));
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(sampleTask));
+
+        mockMvc.perform(get("/tasks/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+
     @Test
     void testGetTaskById_NonExistingTask() throws Exception {
         when(taskService.getTaskById(99L)).thenReturn(Optional.empty());
@@ -115,7 +407,7 @@ class TaskControllerTest {
     @Test
     void testGetTasksByPriority() throws Exception {
         List<Task> highPriorityTasks = Collections.singletonList(taskList.get(1)); // Task 2 is HIGH priority
-        when(taskService.getTasksByPriority(Task.Priority.HIGH)).thenReturn(highPriorityTasks);
+        when(taskService.getTasksByPriority(Task.Priority.HIGH)).thenReturn(views(highPriorityTasks));
 
         mockMvc.perform(get("/tasks/priority/HIGH"))
                 .andExpect(status().isOk())
@@ -130,7 +422,7 @@ class TaskControllerTest {
     @Test
     void testGetTasksByCompletionStatus() throws Exception {
         List<Task> completedTasks = Collections.singletonList(taskList.get(2)); // Task 3 is completed
-        when(taskService.getTasksByCompletionStatus(true)).thenReturn(completedTasks);
+        when(taskService.getTasksByCompletionStatus(true)).thenReturn(views(completedTasks));
 
         mockMvc.perform(get("/tasks/status/true"))
                 .andExpect(status().isOk())
@@ -145,7 +437,7 @@ class TaskControllerTest {
     @Test
     void testGetTasksByPriorityAndStatus() throws Exception {
         List<Task> highCompletedTasks = new ArrayList<>(); // No tasks match this criteria in our sample
-        when(taskService.getTasksByPriorityAndStatus(Task.Priority.HIGH, true)).thenReturn(highCompletedTasks);
+        when(taskService.getTasksByPriorityAndStatus(Task.Priority.HIGH, true)).thenReturn(views(highCompletedTasks));
 
         mockMvc.perform(get("/tasks/priority/HIGH/status/true"))
                 .andExpect(status().isOk())
@@ -202,6 +494,61 @@ class TaskControllerTest {
         verify(taskService, times(1)).updateTask(any(Task.class));
     }
 
+    @Test
+    void testUpdateTask_IfMatchPinsVersion() throws Exception {
+        Task savedTask = new Task("Updated Task", "Updated Description");
+        savedTask.setId(1L);
+        savedTask.setVersion(4L);
+
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(sampleTask));
+        when(taskService.updateTask(any(Task.class))).thenReturn(savedTask);
+
+        mockMvc.perform(put("/tasks/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(savedTask)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(taskService).updateTask(argThat(task -> Long.valueOf(3L).equals(task.getVersion())));
+    }
+
+    @Test
+    void testUpdateTask_VersionConflict() throws Exception {
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(sampleTask));
+        when(taskService.updateTask(any(Task.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        mockMvc.perform(put("/tasks/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTask)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testUpdateTask_ConcurrentWritesWithoutIfMatch() throws Exception {
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(sampleTask));
+        when(taskService.updateTask(any(Task.class)))
+                .thenThrow(new ConcurrencyFailureException("Task 1 was modified concurrently 3 times in a row"));
+
+        mockMvc.perform(put("/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTask)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testUpdateTask_DeletedDuringUpdate() throws Exception {
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(sampleTask));
+        when(taskService.updateTask(any(Task.class))).thenReturn(null);
+
+        mockMvc.perform(put("/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleTask)))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testUpdateTask_NonExistingTask() throws Exception {
         Task taskToUpdate = new Task("Updated Task", "Updated Description");
@@ -220,25 +567,22 @@ class TaskControllerTest {
 
     @Test
     void testDeleteTask_ExistingTask() throws Exception {
-        when(taskService.getTaskById(1L)).thenReturn(Optional.of(sampleTask));
-        doNothing().when(taskService).deleteTask(1L);
+        when(taskService.deleteTask(1L)).thenReturn(true);
 
         mockMvc.perform(delete("/tasks/1"))
                 .andExpect(status().isNoContent());
 
-        verify(taskService, times(1)).getTaskById(1L);
         verify(taskService, times(1)).deleteTask(1L);
     }
 
     @Test
     void testDeleteTask_NonExistingTask() throws Exception {
-        when(taskService.getTaskById(99L)).thenReturn(Optional.empty());
+        when(taskService.deleteTask(99L)).thenReturn(false);
 
         mockMvc.perform(delete("/tasks/99"))
                 .andExpect(status().isNotFound());
 
-        verify(taskService, times(1)).getTaskById(99L);
-        verify(taskService, never()).deleteTask(anyLong());
+        verify(taskService, times(1)).deleteTask(99L);
     }
 
     @Test
@@ -247,7 +591,7 @@ class TaskControllerTest {
         completedTask.setId(1L);
         completedTask.setCompleted(true);
         
-        when(taskService.markTaskCompleted(1L)).thenReturn(completedTask);
+        when(taskService.markTaskCompleted(1L, null)).thenReturn(completedTask);
 
         mockMvc.perform(patch("/tasks/1/complete"))
                 .andExpect(status().isOk())
@@ -255,17 +599,17 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.completed", is(true)));
 
-        verify(taskService, times(1)).markTaskCompleted(1L);
+        verify(taskService, times(1)).markTaskCompleted(1L, null);
     }
 
     @Test
     void testMarkTaskCompleted_NonExistingTask() throws Exception {
-        when(taskService.markTaskCompleted(99L)).thenReturn(null);
+        when(taskService.markTaskCompleted(99L, null)).thenReturn(null);
 
         mockMvc.perform(patch("/tasks/99/complete"))
                 .andExpect(status().isNotFound());
 
-        verify(taskService, times(1)).markTaskCompleted(99L);
+        verify(taskService, times(1)).markTaskCompleted(99L, null);
     }
 
     @Test
@@ -274,7 +618,7 @@ class TaskControllerTest {
         incompletedTask.setId(1L);
         incompletedTask.setCompleted(false);
         
-        when(taskService.markTaskNotCompleted(1L)).thenReturn(incompletedTask);
+        when(taskService.markTaskNotCompleted(1L, null)).thenReturn(incompletedTask);
 
         mockMvc.perform(patch("/tasks/1/incomplete"))
                 .andExpect(status().isOk())
@@ -282,7 +626,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.completed", is(false)));
 
-        verify(taskService, times(1)).markTaskNotCompleted(1L);
+        verify(taskService, times(1)).markTaskNotCompleted(1L, null);
     }
 
     @Test
@@ -291,7 +635,7 @@ class TaskControllerTest {
         updatedTask.setId(1L);
         updatedTask.setPriority(Task.Priority.HIGH);
         
-        when(taskService.updateTaskPriority(1L, Task.Priority.HIGH)).thenReturn(updatedTask);
+        when(taskService.updateTaskPriority(1L, Task.Priority.HIGH, null)).thenReturn(updatedTask);
 
         mockMvc.perform(patch("/tasks/1/priority/HIGH"))
                 .andExpect(status().isOk())
@@ -299,7 +643,136 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.priority", is("HIGH")));
 
-        verify(taskService, times(1)).updateTaskPriority(1L, Task.Priority.HIGH);
+        verify(taskService, times(1)).updateTaskPriority(1L, Task.Priority.HIGH, null);
+    }
+
+    @Test
+    void testMarkTaskCompleted_PreferMinimal() throws Exception {
+        when(taskService.setTaskCompleted(1L, true, null)).thenReturn(true);
+
+        mockMvc.perform(patch("/tasks/1/complete").header("Prefer", "return=minimal"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(content().string(""));
+
+        verify(taskService, times(1)).setTaskCompleted(1L, true, null);
+        verify(taskService, never()).markTaskCompleted(anyLong(), any());
+    }
+
+    @Test
+    void testMarkTaskNotCompleted_PreferMinimalIfMatch() throws Exception {
+        when(taskService.setTaskCompleted(1L, false, 2L)).thenReturn(true);
+
+        mockMvc.perform(patch("/tasks/1/incomplete").header("If-Match", "\"2\"").header("Prefer", "return=minimal"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(taskService, never()).markTaskNotCompleted(anyLong(), any());
+    }
+
+    @Test
+    void testUpdateTaskPriority_PreferMinimalNonExistingTask() throws Exception {
+        when(taskService.setTaskPriority(99L, Task.Priority.HIGH, null)).thenReturn(false);
+
+        mockMvc.perform(patch("/tasks/99/priority/HIGH").header("Prefer", "return=minimal"))
+                .andExpect(status().isNotFound());
+
+        verify(taskService, never()).updateTaskPriority(anyLong(), any(), any());
+    }
+
+    @Test
+    void testMarkTaskCompleted_IfMatch() throws Exception {
+        Task completedTask = new Task("Test Task", "Test Description");
+        completedTask.setId(1L);
+        completedTask.setCompleted(true);
+        completedTask.setVersion(3L);
+
+        when(taskService.markTaskCompleted(1L, 2L)).thenReturn(completedTask);
+
+        mockMvc.perform(patch("/tasks/1/complete").header("If-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void testMarkTaskCompleted_StaleIfMatch() throws Exception {
+        when(taskService.markTaskCompleted(1L, 2L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        mockMvc.perform(patch("/tasks/1/complete").header("If-Match", "\"2\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testUpdateTaskPriority_MalformedIfMatch() throws Exception {
+        mockMvc.perform(patch("/tasks/1/priority/HIGH").header("If-Match", "W/\"tasks-1\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(taskService, never()).updateTaskPriority(anyLong(), any(), any());
+    }
+
+    @Test
+    void testCreateTasksInBatch() throws Exception {
+        when(taskService.createTasks(anyList())).thenReturn(Arrays.asList(
+                new BatchItemResult(0, 10L, BatchItemResult.Status.CREATED),
+                new BatchItemResult(1, 11L, BatchItemResult.Status.CREATED)));
+
+        mockMvc.perform(post("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(taskList.subList(0, 2))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id", is(11)))
+                .andExpect(jsonPath("$[1].status", is("CREATED")));
+    }
+
+    @Test
+    void testDeleteTasksInBatch() throws Exception {
+        when(taskService.deleteTasks(Arrays.asList(1L, 99L))).thenReturn(Arrays.asList(
+                new BatchItemResult(0, 1L, BatchItemResult.Status.DELETED),
+                new BatchItemResult(1, 99L, BatchItemResult.Status.NOT_FOUND)));
+
+        mockMvc.perform(delete("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 99]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("DELETED")))
+                .andExpect(jsonPath("$[1].status", is("NOT_FOUND")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateTasksInBatch_PartialItems() throws Exception {
+        when(taskService.updateTasks(anyList())).thenReturn(Arrays.asList(
+                new BatchItemResult(0, 1L, BatchItemResult.Status.UPDATED),
+                new BatchItemResult(1, 2L, BatchItemResult.Status.CONFLICT)));
+
+        mockMvc.perform(patch("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\": 1, \"priority\": \"HIGH\"}, {\"id\": 2, \"version\": 4, \"completed\": true}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].status", is("CONFLICT")));
+
+        ArgumentCaptor<List<TaskPatch>> patches = ArgumentCaptor.forClass(List.class);
+        verify(taskService).updateTasks(patches.capture());
+        Task task = new Task("Kept title", "Kept description", Task.Priority.LOW);
+        task.setCompleted(true);
+        patches.getValue().get(0).applyTo(task);
+        assertEquals(Task.Priority.HIGH, task.getPriority());
+        assertEquals("Kept title", task.getTitle());
+        assertEquals("Kept description", task.getDescription());
+        assertTrue(task.isCompleted());
+        assertEquals(4L, patches.getValue().get(1).getVersion());
+    }
+
+    @Test
+    void testUpdateTasksInBatch_TooLarge() throws Exception {
+        when(taskService.updateTasks(anyList())).thenThrow(new IllegalArgumentException("Batch too large"));
+
+        mockMvc.perform(patch("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(taskList)))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -307,7 +780,7 @@ class TaskControllerTest {
         Date dueDate = dateFormat.parse("2023-12-31");
         List<Task> tasksWithDueDate = Collections.singletonList(sampleTask);
         
-        when(taskService.getTasksByDueDate(eq(dueDate))).thenReturn(tasksWithDueDate);
+        when(taskService.getTasksByDueDate(eq(dueDate))).thenReturn(views(tasksWithDueDate));
 
         mockMvc.perform(get("/tasks/due-date/2023-12-31"))
                 .andExpect(status().isOk())
@@ -324,7 +797,7 @@ class TaskControllerTest {
         Date date = dateFormat.parse("2024-01-01");
         List<Task> tasksDueBefore = Collections.singletonList(sampleTask);
         
-        when(taskService.getTasksDueBefore(eq(date))).thenReturn(tasksDueBefore);
+        when(taskService.getTasksDueBefore(eq(date))).thenReturn(views(tasksDueBefore));
 
         mockMvc.perform(get("/tasks/due-before/2024-01-01"))
                 .andExpect(status().isOk())
@@ -341,7 +814,7 @@ class TaskControllerTest {
         Date date = dateFormat.parse("2023-12-30");
         List<Task> tasksDueAfter = Collections.singletonList(sampleTask);
         
-        when(taskService.getTasksDueAfter(eq(date))).thenReturn(tasksDueAfter);
+        when(taskService.getTasksDueAfter(eq(date))).thenReturn(views(tasksDueAfter));
 
         mockMvc.perform(get("/tasks/due-after/2023-12-30"))
                 .andExpect(status().isOk())
@@ -359,7 +832,7 @@ class TaskControllerTest {
         List<Task> tasksByPriorityAndDueDate = Collections.singletonList(sampleTask);
         
         when(taskService.getTasksByPriorityAndDueDate(eq(Task.Priority.MEDIUM), eq(date)))
-            .thenReturn(tasksByPriorityAndDueDate);
+            .thenReturn(views(tasksByPriorityAndDueDate));
 
         mockMvc.perform(get("/tasks/priority/MEDIUM/due-date/2023-12-31"))
                 .andExpect(status().isOk())
@@ -380,7 +853,7 @@ class TaskControllerTest {
         updatedTask.setId(1L);
         updatedTask.setDueDate(newDueDate);
         
-        when(taskService.updateTaskDueDate(eq(1L), any(Date.class))).thenReturn(updatedTask);
+        when(taskService.updateTaskDueDate(eq(1L), any(Date.class), isNull())).thenReturn(updatedTask);
 
         mockMvc.perform(patch("/tasks/1/due-date")
                 .param("dueDate", "2024-01-15"))
@@ -389,17 +862,21 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.title", is("Test Task")));
 
-        verify(taskService, times(1)).updateTaskDueDate(eq(1L), any(Date.class));
+        verify(taskService, times(1)).updateTaskDueDate(eq(1L), any(Date.class), isNull());
     }
 
     @Test
     void testUpdateTaskDueDate_NonExistingTask() throws Exception {
-        when(taskService.updateTaskDueDate(eq(99L), any(Date.class))).thenReturn(null);
+        when(taskService.updateTaskDueDate(eq(99L), any(Date.class), isNull())).thenReturn(null);
 
         mockMvc.perform(patch("/tasks/99/due-date")
                 .param("dueDate", "2024-01-15"))
                 .andExpect(status().isNotFound());
 
-        verify(taskService, times(1)).updateTaskDueDate(eq(99L), any(Date.class));
+        verify(taskService, times(1)).updateTaskDueDate(eq(99L), any(Date.class), isNull());
+    }
+
+    private static List<TaskView> views(List<Task> tasks) {
+        return tasks.stream().map(TaskView::of).toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package com.example.todo.todobackend.integration;
+
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.repository.TaskRepository;
+import com.example.todo.todobackend.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the Hibernate second-level and query caches.
+ * Counts the JDBC statements Hibernate prepares to verify that repeated reads are served from
+ * the cache and that every kind of write invalidates what was cached.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class HibernateCacheIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        task = taskRepository.save(new Task("Cached Query Task", "Description", Task.Priority.HIGH));
+    }
+
+    @Test
+    void testRepeatedFinderIsServedFromQueryCache() {
+        List<TaskView> first = taskService.getTasksByPriority(Task.Priority.HIGH);
+
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getQueryCacheHitCount();
+        List<TaskView> second = taskService.getTasksByPriority(Task.Priority.HIGH);
+
+        assertEquals(0, statistics.getPrepareStatementCount() - statements);
+        assertEquals(1, statistics.getQueryCacheHitCount() - hits);
+        assertEquals(ids(first), ids(second));
+        assertTrue(ids(second).contains(task.getId()));
+    }
+
+    @Test
+    void testInsertInvalidatesCachedResults() {
+        taskService.getTasksByPriority(Task.Priority.HIGH);
+
+        Task created = taskService.createTask(new Task("Created After Caching", "Description", Task.Priority.HIGH));
+        long statements = statistics.getPrepareStatementCount();
+        List<TaskView> tasks = taskService.getTasksByPriority(Task.Priority.HIGH);
+
+        assertEquals(1, statistics.getPrepareStatementCount() - statements);
+        assertTrue(ids(tasks).contains(created.getId()));
+    }
+
+    @Test
+    void testBulkUpdateInvalidatesCachedResults() {
+        assertTrue(ids(taskService.getTasksByCompletionStatus(false)).contains(task.getId()));
+
+        // Single-column PATCHes are JPQL bulk updates rather than entity writes
+        taskService.setTaskCompleted(task.getId(), true, null);
+
+        assertFalse(ids(taskService.getTasksByCompletionStatus(false)).contains(task.getId()));
+        assertTrue(taskRepository.findById(task.getId()).get().isCompleted());
+    }
+
+    @Test
+    void testSingleFieldUpdateReturnsTaskFromDatabase() {
+        taskRepository.findById(task.getId());
+
+        Task updated = taskService.markTaskCompleted(task.getId(), null);
+
+        assertTrue(updated.isCompleted());
+        assertEquals(task.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    void testDeleteInvalidatesCachedResults() {
+        taskService.getTasksByPriority(Task.Priority.HIGH);
+
+        taskService.deleteTask(task.getId());
+
+        assertFalse(ids(taskService.getTasksByPriority(Task.Priority.HIGH)).contains(task.getId()));
+    }
+
+    @Test
+    void testEntityIsServedFromSecondLevelCache() {
+        taskRepository.findById(task.getId());
+
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        Task loaded = taskRepository.findById(task.getId()).get();
+
+        assertEquals(0, statistics.getPrepareStatementCount() - statements);
+        assertEquals(1, statistics.getSecondLevelCacheHitCount() - hits);
+        assertEquals("Cached Query Task", loaded.getTitle());
+    }
+
+    @Test
+    void testExportDoesNotFillEntityCache() {
+        List<Long> exportedIds = new ArrayList<>();
+        long puts = statistics.getSecondLevelCachePutCount();
+
+        taskService.exportTasks(exported -> exportedIds.add(exported.getId()));
+
+        assertTrue(exportedIds.contains(task.getId()));
+        assertEquals(0, statistics.getSecondLevelCachePutCount() - puts);
+    }
+
+    private static List<Long> ids(List<TaskView> tasks) {
+        return tasks.stream().map(TaskView::getId).toList();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todo.todobackend.integration;
+
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for response compression and HTTP/2 on the embedded Tomcat.
+ * MockMvc bypasses the connector, so requests go over a real socket with the JDK HTTP client.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class HttpTransportIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskService taskService;
+
+    private final HttpClient http1Client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void testGzipsLargeListResponses() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            taskService.createTask(new Task("Compressible task " + i, "A description that repeats. ".repeat(8)));
+        }
+
+        HttpResponse<byte[]> plain = http1Client.send(get("/tasks").build(), HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> gzipped = http1Client.send(get("/tasks").header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, gzipped.statusCode());
+        assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(gzipped.headers().allValues("Vary").toString().toLowerCase().contains("accept-encoding"));
+        assertArrayEquals(plain.body(), gunzip(gzipped.body()));
+        assertTrue(gzipped.body().length * 4 < plain.body().length,
+                "gzip sent " + gzipped.body().length + " of " + plain.body().length + " bytes");
+    }
+
+    @Test
+    void testSendsSmallResponsesUncompressed() throws Exception {
+        Task task = taskService.createTask(new Task("Small task", "Below the compression threshold"));
+
+        HttpResponse<String> response = http1Client.send(get("/tasks/" + task.getId())
+                .header("Accept-Encoding", "gzip").build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    @Test
+    void testLeavesEventStreamUncompressed() throws Exception {
+        HttpResponse<InputStream> stream = http1Client.send(get("/tasks/stream")
+                .header("Accept-Encoding", "gzip").build(), HttpResponse.BodyHandlers.ofInputStream());
+
+        assertEquals(200, stream.statusCode());
+        assertTrue(stream.headers().firstValue("Content-Encoding").isEmpty());
+        stream.body().close();
+    }
+
+    @Test
+    void testUpgradesCleartextConnectionsToHttp2() throws Exception {
+        HttpClient http2Client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        HttpResponse<String> response = http2Client.send(get("/tasks/stats").build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api" + path)).GET();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
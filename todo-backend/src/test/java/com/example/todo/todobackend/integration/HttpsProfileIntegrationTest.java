@@ -0,0 +1,57 @@
+package com.example.todo.todobackend.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyStore;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the "https" profile: TLS with the bundled keystore.p12 and HTTP/2 negotiated through ALPN.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "https"})
+public class HttpsProfileIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testServesHttp2OverTls() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .sslContext(trustingBundledCertificate())
+                .build();
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                URI.create("https://localhost:" + port + "/api/tasks/stats")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+    }
+
+    // The certificate is self-signed, so the client trusts the server's own key store
+    private static SSLContext trustingBundledCertificate() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = new ClassPathResource("keystore.p12").getInputStream()) {
+            keyStore.load(in, "changeit".toCharArray());
+        }
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, trustManagers.getTrustManagers(), null);
+        return sslContext;
+    }
+}
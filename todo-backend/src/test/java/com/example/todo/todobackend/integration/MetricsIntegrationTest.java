@@ -0,0 +1,44 @@
+package com.example.todo.todobackend.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration test for the Prometheus scrape endpoint.
+ * Verifies that request, service, connection pool, JDBC statement and Hibernate metrics are exported.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testPrometheusEndpointExportsTaskMetrics() throws Exception {
+        mockMvc.perform(get("/tasks")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("uri=\"/tasks\"")))
+                .andExpect(content().string(containsString("todo_task_service_seconds_bucket")))
+                .andExpect(content().string(containsString("method=\"getAllTasks\"")))
+                .andExpect(content().string(containsString("hikaricp_connections")))
+                .andExpect(content().string(containsString("todo_sql_statements_seconds_count{application=\"todo-backend\",outcome=\"success\",type=\"select\"}")))
+                .andExpect(content().string(containsString("todo_sql_request_statements_count")))
+                .andExpect(content().string(containsString("hibernate_query_executions")))
+                .andExpect(content().string(containsString("cache_gets")));
+    }
+}
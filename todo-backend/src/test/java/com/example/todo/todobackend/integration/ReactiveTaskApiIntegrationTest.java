@@ -0,0 +1,163 @@
+package com.example.todo.todobackend.integration;
+
+import com.example.todo.todobackend.model.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.sql.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the "reactive" profile: WebFlux functional routes over R2DBC,
+ * against an in-memory H2 database initialised from the reactive schema script.
+ */
+@SpringBootTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactivetestdb;DB_CLOSE_DELAY=-1")
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "reactive"})
+public class ReactiveTaskApiIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testTaskLifecycle() {
+        Task newTask = new Task("Reactive Task", "Created over R2DBC", Task.Priority.HIGH, Date.valueOf("2025-06-01"));
+
+        Task created = webTestClient.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newTask)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("ETag", "\"0\"")
+                .expectBody(Task.class)
+                .returnResult().getResponseBody();
+        assertNotNull(created);
+        assertNotNull(created.getId());
+
+        webTestClient.get().uri("/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Reactive Task")
+                .jsonPath("$.priority").isEqualTo("HIGH")
+                .jsonPath("$.dueDate").isEqualTo("2025-06-01");
+
+        webTestClient.get().uri("/tasks/{id}", created.getId())
+                .header("If-None-Match", "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.get().uri("/tasks/priority/HIGH/due-date/2025-06-01")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[?(@.id == " + created.getId() + ")]").exists();
+
+        webTestClient.delete().uri("/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.delete().uri("/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testIfMatchOnPatchAndPut() {
+        Task created = webTestClient.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Task("Contended Task", "Edited by two clients"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Task.class)
+                .returnResult().getResponseBody();
+        assertNotNull(created);
+
+        webTestClient.patch().uri("/tasks/{id}/complete", created.getId())
+                .header("If-Match", "\"0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody()
+                .jsonPath("$.completed").isEqualTo(true);
+
+        webTestClient.patch().uri("/tasks/{id}/priority/LOW", created.getId())
+                .header("If-Match", "\"0\"")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        created.setTitle("Stale writer");
+        webTestClient.put().uri("/tasks/{id}", created.getId())
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(created)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        created.setTitle("Current writer");
+        webTestClient.put().uri("/tasks/{id}", created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(created)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2\"");
+
+        webTestClient.patch().uri("/tasks/{id}/incomplete", created.getId())
+                .header("If-Match", "\"2\"")
+                .header("Prefer", "return=minimal")
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectHeader().valueEquals("ETag", "\"3\"");
+
+        webTestClient.patch().uri("/tasks/{id}/complete", -1)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testCollectionETagFollowsWrites() {
+        String etag = webTestClient.get().uri("/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Task.class).getResponseHeaders().getETag();
+        assertNotNull(etag);
+        webTestClient.get().uri("/tasks")
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.post().uri("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Task("Listed task", "Changes the collection"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        String newETag = webTestClient.get().uri("/tasks")
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Task.class).getResponseHeaders().getETag();
+        assertNotEquals(etag, newETag);
+    }
+
+    @Test
+    void testInvalidPathVariables() {
+        webTestClient.get().uri("/tasks/priority/URGENT")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/tasks/due-date/not-a-date")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.todo.todobackend.integration;
+
+import com.example.todo.todobackend.config.CacheConfig;
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.repository.TaskRepository;
+import com.example.todo.todobackend.service.TaskService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration test for the task cache in front of TaskService lookups.
+ * Verifies read-through caching, eviction on writes and hit/miss statistics.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskCacheIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @MockitoSpyBean
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.TASKS_CACHE).clear();
+        task = taskRepository.save(new Task("Cached Task", "Cached Description"));
+        clearInvocations(taskRepository);
+    }
+
+    @Test
+    void testGetTaskByIdIsCached() {
+        CacheStats before = nativeStats();
+
+        Optional<Task> first = taskService.getTaskById(task.getId());
+        Optional<Task> second = taskService.getTaskById(task.getId());
+
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        verify(taskRepository, times(1)).findById(task.getId());
+
+        CacheStats after = nativeStats();
+        assertEquals(1, after.missCount() - before.missCount());
+        assertEquals(1, after.hitCount() - before.hitCount());
+    }
+
+    @Test
+    void testMissingTaskIsNotCached() {
+        assertFalse(taskService.getTaskById(-1L).isPresent());
+        assertFalse(taskService.getTaskById(-1L).isPresent());
+
+        verify(taskRepository, times(2)).findById(-1L);
+    }
+
+    @Test
+    void testWritesEvictCachedTask() {
+        taskService.getTaskById(task.getId());
+
+        taskService.markTaskCompleted(task.getId(), null);
+        assertTrue(taskService.getTaskById(task.getId()).get().isCompleted());
+
+        taskService.updateTaskPriority(task.getId(), Task.Priority.HIGH, null);
+        assertEquals(Task.Priority.HIGH, taskService.getTaskById(task.getId()).get().getPriority());
+
+        taskService.deleteTask(task.getId());
+        assertFalse(taskService.getTaskById(task.getId()).isPresent());
+    }
+
+    @Test
+    void testEvictsOnlyAfterCommit() {
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        taskService.getTaskById(task.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskService.setTaskPriority(task.getId(), Task.Priority.HIGH, null);
+            // Other requests keep reading the committed row until this transaction commits
+            assertNotNull(cache.get(task.getId()));
+        });
+
+        assertNull(cache.get(task.getId()));
+        assertEquals(Task.Priority.HIGH, taskService.getTaskById(task.getId()).get().getPriority());
+    }
+
+    @Test
+    void testCreateTaskPopulatesCache() {
+        Task created = taskService.createTask(new Task("New Cached Task", "Description"));
+        clearInvocations(taskRepository);
+
+        assertEquals("New Cached Task", taskService.getTaskById(created.getId()).get().getTitle());
+        verify(taskRepository, never()).findById(created.getId());
+    }
+
+    private CacheStats nativeStats() {
+        Cache cache = ((TransactionAwareCacheDecorator) cacheManager.getCache(CacheConfig.TASKS_CACHE)).getTargetCache();
+        return ((CaffeineCache) cache).getNativeCache().stats();
+    }
+}
@@ -1,18 +1,26 @@
 package com.example.todo.todobackend.integration;
 
+import com.example.todo.todobackend.event.TaskChangedEvent;
 import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import reactor.test.StepVerifier;
 
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.Date;
 
 import static org.hamcrest.Matchers.*;
@@ -37,6 +45,12 @@ public class TodoAppIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
 
     @Test
@@ -112,8 +126,10 @@ public class TodoAppIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(taskId.intValue())));
 
-        // 10. Mark task as not completed
-        mockMvc.perform(patch("/tasks/" + taskId + "/incomplete"))
+        // 10. Mark task as not completed; with "Prefer: return=minimal" only the UPDATE runs
+        mockMvc.perform(patch("/tasks/" + taskId + "/incomplete").header("Prefer", "return=minimal"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/tasks/" + taskId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.completed", is(false)));
 
@@ -244,6 +260,325 @@ public class TodoAppIntegrationTest {
                 )));
     }
     
+    @Test
+    void testConditionalGet() throws Exception {
+        Task task = new Task("ETag Task", "Polled by the frontend");
+        MvcResult createResult = mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long taskId = objectMapper.readValue(createResult.getResponse().getContentAsString(), Task.class).getId();
+
+        // Single task: the ETag follows the version column
+        String taskETag = mockMvc.perform(get("/tasks/" + taskId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/tasks/" + taskId).header("If-None-Match", taskETag))
+                .andExpect(status().isNotModified());
+
+        // Collection: the ETag follows the table change counter
+        String collectionETag = mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(collectionETag);
+        mockMvc.perform(get("/tasks").header("If-None-Match", collectionETag))
+                .andExpect(status().isNotModified());
+
+        // A write invalidates both
+        mockMvc.perform(patch("/tasks/" + taskId + "/complete"))
+                .andExpect(status().isOk());
+
+        String newTaskETag = mockMvc.perform(get("/tasks/" + taskId).header("If-None-Match", taskETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed", is(true)))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(taskETag, newTaskETag);
+        mockMvc.perform(get("/tasks").header("If-None-Match", collectionETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(collectionETag)));
+    }
+    
+    @Test
+    void testCollectionETagFollowsSharedChangeCounter() throws Exception {
+        createTask(new Task("Shared task", "Also written by another instance"));
+        String collectionETag = mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        
+        // Another instance, or a script, writes the table and then draws from the counter sequence
+        jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_changes_seq", Long.class);
+        
+        mockMvc.perform(get("/tasks").header("If-None-Match", collectionETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(collectionETag)));
+    }
+    
+    @Test
+    void testCrossOriginResponsesExposeETag() throws Exception {
+        mockMvc.perform(get("/tasks").header(HttpHeaders.ORIGIN, "http://localhost:3000"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, containsString("ETag")));
+    }
+    
+    @Test
+    void testIfMatchRejectsStaleWrites() throws Exception {
+        Task task = new Task("Contended Task", "Edited by two clients");
+        MvcResult createResult = mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long taskId = objectMapper.readValue(createResult.getResponse().getContentAsString(), Task.class).getId();
+        String etag = mockMvc.perform(get("/tasks/" + taskId))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // First writer wins and receives the new version
+        task.setTitle("First writer");
+        String newETag = mockMvc.perform(put("/tasks/" + taskId)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newETag);
+
+        // Second writer still holds the old ETag
+        task.setTitle("Second writer");
+        mockMvc.perform(put("/tasks/" + taskId)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/tasks/" + taskId + "/priority/HIGH").header("If-Match", etag))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/tasks/" + taskId + "/priority/HIGH").header("If-Match", newETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("First writer")))
+                .andExpect(jsonPath("$.priority", is("HIGH")));
+    }
+    
+    @Test
+    void testChangeStreamEmitsCommittedWrites() throws Exception {
+        StepVerifier.create(taskService.streamTaskChanges())
+                .then(() -> {
+                    try {
+                        createTask(new Task("Streamed Task", "Pushed to subscribers"));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .assertNext(event -> {
+                    assertEquals(TaskChangedEvent.Type.CREATED, event.getType());
+                    assertNotNull(event.getTaskId());
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+    
+    @Test
+    void testStatsFollowWrites() throws Exception {
+        String before = mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long overdueBefore = objectMapper.readTree(before).get("overdue").asLong();
+        long totalBefore = objectMapper.readTree(before).get("total").asLong();
+        
+        createTask(new Task("Overdue task", "Due long ago", Task.Priority.HIGH, dateFormat.parse("2001-02-03")));
+        Task done = new Task("Done task", "Completed", Task.Priority.LOW, dateFormat.parse("2001-02-03"));
+        done.setCompleted(true);
+        createTask(done);
+        
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is((int) totalBefore + 2)))
+                .andExpect(jsonPath("$.overdue", is((int) overdueBefore + 1)))
+                .andExpect(jsonPath("$.openByDueMonth['2001-02']", is(1)));
+    }
+    
+    @Test
+    void testStatsFollowWritesFromOtherInstances() throws Exception {
+        long totalBefore = objectMapper.readTree(mockMvc.perform(get("/tasks/stats"))
+                .andReturn().getResponse().getContentAsString()).get("total").asLong();
+        
+        // Another instance commits a new task, then bumps the shared counter
+        jdbcTemplate.update("INSERT INTO tasks (id, title, completed, priority, version) "
+                + "VALUES (1000000, 'Written elsewhere', false, 'HIGH', 0)");
+        jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_changes_seq", Long.class);
+        
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is((int) totalBefore + 1)));
+    }
+    
+    @Test
+    void testQueryCombinesFilters() throws Exception {
+        Task early = new Task("Early high", "Due first", Task.Priority.HIGH, dateFormat.parse("2030-03-01"));
+        Task late = new Task("Late high", "Due last", Task.Priority.HIGH, dateFormat.parse("2030-03-20"));
+        Task low = new Task("Low in range", "Due in between", Task.Priority.LOW, dateFormat.parse("2030-03-10"));
+        Task medium = new Task("Medium in range", "Filtered out", Task.Priority.MEDIUM, dateFormat.parse("2030-03-10"));
+        Task done = new Task("Done high", "Completed", Task.Priority.HIGH, dateFormat.parse("2030-03-05"));
+        done.setCompleted(true);
+        for (Task task : new Task[] {early, late, low, medium, done}) {
+            createTask(task);
+        }
+        
+        mockMvc.perform(get("/tasks/query")
+                .param("priority", "HIGH", "LOW")
+                .param("completed", "false")
+                .param("dueFrom", "2030-03-01")
+                .param("dueTo", "2030-03-31")
+                .param("sort", "dueDate,desc")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Late high", "Low in range")))
+                .andExpect(jsonPath("$.page.totalElements", is(3)))
+                .andExpect(jsonPath("$.page.totalPages", is(2)));
+        
+        mockMvc.perform(get("/tasks/query")
+                .param("priority", "HIGH", "LOW")
+                .param("completed", "false")
+                .param("dueFrom", "2030-03-01")
+                .param("sort", "dueDate,desc")
+                .param("size", "2")
+                .param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Early high")));
+        
+        mockMvc.perform(get("/tasks/query").param("dueFrom", "2030-03-20").param("dueTo", "2030-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void testFieldsNarrowListResponses() throws Exception {
+        createTask(new Task("Sparse task", "A long description", Task.Priority.HIGH, dateFormat.parse("2031-07-04")));
+        
+        String full = mockMvc.perform(get("/tasks/priority/HIGH/due-date/2031-07-04"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        
+        mockMvc.perform(get("/tasks/priority/HIGH/due-date/2031-07-04").param("fields", "title,dueDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Sparse task")))
+                .andExpect(jsonPath("$[0].dueDate", is(objectMapper.readTree(full).get(0).get("dueDate").asText())))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].id").doesNotExist());
+        
+        mockMvc.perform(get("/tasks").param("fields", "id", "completed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].completed").exists())
+                .andExpect(jsonPath("$[0].title").doesNotExist());
+        
+        mockMvc.perform(get("/tasks/due-after/2031-07-03").param("fields", "description,owner"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void testBinaryContentNegotiation() throws Exception {
+        CBORMapper cborMapper = new CBORMapper();
+        SmileMapper smileMapper = new SmileMapper();
+        Task task = new Task("Binary task", "Sent as Smile", Task.Priority.HIGH, dateFormat.parse("2032-01-15"));
+        
+        // Smile request body, CBOR response
+        byte[] created = mockMvc.perform(post("/tasks")
+                .contentType(MediaType.valueOf("application/x-jackson-smile"))
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(smileMapper.writeValueAsBytes(objectMapper.readTree(objectMapper.writeValueAsString(task)))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Binary task", cborMapper.readTree(created).get("title").asText());
+        
+        // The binary formats carry the same document as JSON, which stays the default
+        String json = mockMvc.perform(get("/tasks/priority/HIGH").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsString();
+        byte[] cbor = mockMvc.perform(get("/tasks/priority/HIGH").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/tasks/priority/HIGH").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(objectMapper.readTree(json), cborMapper.readTree(cbor));
+        assertEquals(objectMapper.readTree(json), smileMapper.readTree(smile));
+        assertTrue(cbor.length < json.getBytes().length);
+    }
+    
+    @Test
+    void testETagsNameTheNegotiatedFormat() throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Task("Tagged task", "Read as JSON and CBOR"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long taskId = objectMapper.readValue(createResult.getResponse().getContentAsString(), Task.class).getId();
+        
+        String jsonETag = mockMvc.perform(get("/tasks/" + taskId))
+                .andReturn().getResponse().getHeader("ETag");
+        String cborETag = mockMvc.perform(get("/tasks/" + taskId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals("\"0\"", jsonETag);
+        assertEquals("\"0-cbor\"", cborETag);
+        
+        // The JSON tag does not validate a stored CBOR body, and the other way round
+        mockMvc.perform(get("/tasks/" + taskId).accept(MediaType.APPLICATION_CBOR).header("If-None-Match", jsonETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/" + taskId).accept(MediaType.APPLICATION_CBOR).header("If-None-Match", cborETag))
+                .andExpect(status().isNotModified());
+        String collectionETag = mockMvc.perform(get("/tasks"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/tasks").accept("application/x-jackson-smile").header("If-None-Match", collectionETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(collectionETag)));
+        
+        // If-Match names the version whichever format the tag came from
+        mockMvc.perform(patch("/tasks/" + taskId + "/complete").header("If-Match", cborETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+    
+    @Test
+    void testSearchFollowsWrites() throws Exception {
+        createTask(new Task("Quarterly report", "Collect the invoices"));
+        createTask(new Task("Invoice reminders", "Send before the quarterly report"));
+        
+        // Prefix match on both words; the title match ranks first
+        mockMvc.perform(get("/tasks/search").param("q", "quarter rep"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHits", is(2)))
+                .andExpect(jsonPath("$.items[0].title", is("Quarterly report")))
+                .andExpect(jsonPath("$.items[1].title", is("Invoice reminders")));
+        
+        mockMvc.perform(get("/tasks/search").param("q", "invoice").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+        
+        // Updates and deletes are reflected once committed
+        Long reportId = taskService.searchTasks("quarterly report", 0, 1).getItems().get(0).getId();
+        mockMvc.perform(put("/tasks/" + reportId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Task("Annual summary", "Collect the invoices"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/search").param("q", "quarterly"))
+                .andExpect(jsonPath("$.totalHits", is(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Invoice reminders")));
+        
+        mockMvc.perform(delete("/tasks/" + reportId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/tasks/search").param("q", "annual"))
+                .andExpect(jsonPath("$.totalHits", is(0)));
+    }
+    
     // Helper method to create a task with specific priority and completion status
     private void createTaskWithPriorityAndStatus(String title, Task.Priority priority, boolean completed) throws Exception {
         Task task = new Task(title, "Description for " + title);
@@ -0,0 +1,144 @@
+package com.example.todo.todobackend.search;
+
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.event.TaskChangedEvent;
+import com.example.todo.todobackend.model.Task;
+import com.example.todo.todobackend.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InMemoryTaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private InMemoryTaskSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        searchIndex.index(task(1L, "Buy groceries", "Milk, eggs and bread"));
+        searchIndex.index(task(2L, "Bake bread", "Sourdough for the weekend"));
+        searchIndex.index(task(3L, "Plan the weekend", "Hiking or a bakery visit"));
+    }
+
+    @Test
+    void testTermsAreLowerCasedAndSplitOnPunctuation() {
+        assertEquals(Arrays.asList("re", "plan", "q3", "road", "map"), TaskSearchIndex.terms("Re-plan Q3 road/map!"));
+        assertTrue(TaskSearchIndex.terms("  -- ").isEmpty());
+        assertTrue(TaskSearchIndex.terms(null).isEmpty());
+    }
+
+    @Test
+    void testTitleMatchesRankAboveDescriptionMatches() {
+        TaskSearchHits hits = searchIndex.search("bread", 0, 10);
+
+        assertEquals(Arrays.asList(2L, 1L), hits.getIds());
+        assertEquals(2, hits.getTotal());
+    }
+
+    @Test
+    void testPrefixMatchRanksBelowExactMatch() {
+        // "bake" is exact in task 2's title and a prefix of "bakery" in task 3's description
+        TaskSearchHits hits = searchIndex.search("BAKE", 0, 10);
+
+        assertEquals(Arrays.asList(2L, 3L), hits.getIds());
+    }
+
+    @Test
+    void testAllTermsMustMatch() {
+        assertEquals(Collections.singletonList(3L), searchIndex.search("week hik", 0, 10).getIds());
+        assertEquals(0, searchIndex.search("bread hiking", 0, 10).getTotal());
+        assertEquals(0, searchIndex.search("!!", 0, 10).getTotal());
+    }
+
+    @Test
+    void testPagination() {
+        TaskSearchHits firstPage = searchIndex.search("b", 0, 2);
+        TaskSearchHits secondPage = searchIndex.search("b", 2, 2);
+
+        assertEquals(2, firstPage.getIds().size());
+        assertEquals(1, secondPage.getIds().size());
+        assertEquals(3, secondPage.getTotal());
+        assertFalse(firstPage.getIds().contains(secondPage.getIds().get(0)));
+    }
+
+    @Test
+    void testReindexReplacesOldTerms() {
+        searchIndex.index(task(1L, "Buy flowers", null));
+
+        assertEquals(Collections.singletonList(2L), searchIndex.search("bread", 0, 10).getIds());
+        assertEquals(Collections.singletonList(1L), searchIndex.search("flowers", 0, 10).getIds());
+    }
+
+    @Test
+    void testOnTaskChanged() {
+        when(taskRepository.findById(4L)).thenReturn(Optional.of(task(4L, "Water plants", "")));
+
+        searchIndex.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 4L));
+        assertEquals(Collections.singletonList(4L), searchIndex.search("plants", 0, 10).getIds());
+
+        searchIndex.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, 4L));
+        assertEquals(0, searchIndex.search("plants", 0, 10).getTotal());
+        verify(taskRepository, times(1)).findById(4L);
+    }
+
+    @Test
+    void testRebuildReadsAllBatches() {
+        List<Task> firstBatch = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstBatch.add(task(id, "Imported " + id, null));
+        }
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1000))).thenReturn(views(firstBatch));
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(1000L, Limit.of(1000)))
+                .thenReturn(views(Collections.singletonList(task(1001L, "Imported last", null))));
+
+        searchIndex.rebuild();
+
+        assertEquals(1001, searchIndex.search("imported", 0, 10).getTotal());
+        verify(taskRepository, times(2)).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void testRebuildRereadsTasksChangedMeanwhile() {
+        // Task 5 is deleted after its batch was read but before the batch is indexed
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1000))).thenAnswer(invocation -> {
+            searchIndex.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, 5L));
+            return views(Collections.singletonList(task(5L, "Deleted meanwhile", null)));
+        });
+        when(taskRepository.findById(5L)).thenReturn(Optional.empty());
+
+        searchIndex.rebuild();
+
+        assertEquals(0, searchIndex.search("deleted", 0, 10).getTotal());
+        verify(taskRepository, times(1)).findById(5L);
+
+        // Once the rebuild is done, changes are no longer queued for a re-read
+        searchIndex.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, 5L));
+        verify(taskRepository, times(1)).findById(5L);
+    }
+
+    private static Task task(Long id, String title, String description) {
+        Task task = new Task(title, description);
+        task.setId(id);
+        return task;
+    }
+
+    private static List<TaskView> views(List<Task> tasks) {
+        return tasks.stream().map(TaskView::of).toList();
+    }
+}
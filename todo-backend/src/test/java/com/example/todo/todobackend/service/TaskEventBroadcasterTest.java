@@ -0,0 +1,85 @@
+package com.example.todo.todobackend.service;
+
+import com.example.todo.todobackend.event.TaskChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskEventBroadcasterTest {
+
+    private TaskEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new TaskEventBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 2);
+    }
+
+    @Test
+    void testEventsReachEverySubscriber() {
+        Flux<Long> first = broadcaster.subscribe().map(TaskChangedEvent::getTaskId);
+        Flux<Long> second = broadcaster.subscribe().map(TaskChangedEvent::getTaskId);
+
+        StepVerifier.create(Flux.zip(first, second))
+                .then(() -> {
+                    assertEquals(2, broadcaster.getSubscriberCount());
+                    broadcaster.onTaskChanged(event(1L));
+                    broadcaster.onTaskChanged(event(2L));
+                    broadcaster.shutdown();
+                })
+                .expectNextMatches(pair -> pair.getT1() == 1L && pair.getT2() == 1L)
+                .expectNextMatches(pair -> pair.getT1() == 2L && pair.getT2() == 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testSlowSubscriberDropsOldestEvents() {
+        StepVerifier.create(broadcaster.subscribe().map(TaskChangedEvent::getTaskId), 0)
+                .then(() -> {
+                    for (long id = 1; id <= 5; id++) {
+                        broadcaster.onTaskChanged(event(id));
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNext(4L, 5L)
+                .then(() -> broadcaster.onTaskChanged(event(6L)))
+                .expectNext(6L)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testSlowSubscriberDoesNotHoldUpOthers() {
+        StepVerifier.create(broadcaster.subscribe(), 0)
+                .then(() -> StepVerifier.create(broadcaster.subscribe().map(TaskChangedEvent::getTaskId))
+                        .then(() -> {
+                            for (long id = 1; id <= 5; id++) {
+                                broadcaster.onTaskChanged(event(id));
+                            }
+                        })
+                        .expectNext(1L, 2L, 3L, 4L, 5L)
+                        .thenCancel()
+                        .verify())
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testLateSubscriberOnlySeesNewEvents() {
+        broadcaster.onTaskChanged(event(1L));
+
+        StepVerifier.create(broadcaster.subscribe().map(TaskChangedEvent::getTaskId))
+                .then(() -> broadcaster.onTaskChanged(event(2L)))
+                .expectNext(2L)
+                .thenCancel()
+                .verify();
+    }
+
+    private static TaskChangedEvent event(long id) {
+        return new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, id);
+    }
+}
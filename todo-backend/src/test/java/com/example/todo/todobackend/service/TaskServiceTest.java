@@ -1,17 +1,43 @@
 package com.example.todo.todobackend.service;
 
+import com.example.todo.todobackend.dto.TaskFilter;
+import com.example.todo.todobackend.dto.TaskPage;
+import com.example.todo.todobackend.dto.TaskSearchPage;
+import com.example.todo.todobackend.dto.TaskStats;
+import com.example.todo.todobackend.dto.TaskView;
+import com.example.todo.todobackend.event.TaskChangedEvent;
 import com.example.todo.todobackend.model.Task;
 import com.example.todo.todobackend.repository.TaskRepository;
+import com.example.todo.todobackend.repository.TaskSpecifications;
+import com.example.todo.todobackend.search.TaskSearchHits;
+import com.example.todo.todobackend.search.TaskSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.function.Consumer;
+
+import jakarta.persistence.EntityManager;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class TaskServiceTest {
@@ -19,6 +45,24 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskChangeCounter changeCounter;
+
+    @Mock
+    private TaskEventBroadcaster eventBroadcaster;
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -28,6 +72,9 @@ class TaskServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // Run transaction callbacks inline
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
 
         // Create a sample task
         sampleTask = new Task("Test Task", "Test Description");
@@ -55,12 +102,198 @@ class TaskServiceTest {
 
     @Test
     void testGetAllTasks() {
-        when(taskRepository.findAll()).thenReturn(taskList);
+        when(taskRepository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(views(taskList));
 
-        List<Task> result = taskService.getAllTasks();
+        List<TaskView> result = taskService.getAllTasks();
 
         assertEquals(3, result.size());
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(1)).findAllByOrderByIdAsc(Limit.of(1000));
+    }
+
+    @Test
+    void testGetTasksPage_FirstPageWithMore() {
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(views(taskList));
+
+        TaskPage result = taskService.getTasksPage(null, 2);
+
+        assertEquals(2, result.getSize());
+        assertTrue(result.isHasMore());
+        assertNotNull(result.getNextCursor());
+
+        // The cursor resumes after the last returned task
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+            .thenReturn(views(Collections.singletonList(taskList.get(2))));
+
+        TaskPage next = taskService.getTasksPage(result.getNextCursor(), 2);
+
+        assertEquals(1, next.getSize());
+        assertFalse(next.isHasMore());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testQueryTasks_SortAndPage() {
+        when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(taskList));
+
+        taskService.queryTasks(new TaskFilter(Arrays.asList(Task.Priority.HIGH), false, null, null),
+                2, 10, Arrays.asList("dueDate", "desc", "title"));
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(taskRepository).findAll(any(Specification.class), pageable.capture());
+        assertEquals(PageRequest.of(2, 10, Sort.by(Sort.Order.desc("dueDate"), Sort.Order.asc("title"), Sort.Order.asc("id"))),
+                pageable.getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testQueryTasks_Defaults() {
+        when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(taskList));
+
+        taskService.queryTasks(new TaskFilter(), null, null, Collections.singletonList("id,desc"));
+
+        verify(taskRepository).findAll(any(Specification.class),
+                eq(PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "id"))));
+    }
+
+    @Test
+    void testQueryTasks_InvalidArguments() {
+        TaskFilter filter = new TaskFilter();
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.queryTasks(filter, null, null, Collections.singletonList("priority")));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.queryTasks(filter, null, null, Collections.singletonList("desc")));
+        assertThrows(IllegalArgumentException.class, () -> taskService.queryTasks(filter, -1, null, null));
+
+        TaskFilter invertedRange = new TaskFilter(null, null, new Date(2_000_000_000_000L), new Date(1_000_000_000_000L));
+        assertThrows(IllegalArgumentException.class, () -> taskService.queryTasks(invertedRange, null, null, null));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void testGetTaskFields() {
+        Specification<Task> filter = TaskSpecifications.completed(false);
+        List<Map<String, Object>> rows = Collections.singletonList(Collections.singletonMap("title", "Task 1"));
+        when(taskRepository.findFields(Arrays.asList("title", "id"), filter, Limit.of(1000))).thenReturn(rows);
+
+        // Spring may split a comma-separated value; blanks and duplicates are dropped, order is kept
+        List<Map<String, Object>> result = taskService.getTaskFields(Arrays.asList("title", " id,,title"), filter);
+
+        assertSame(rows, result);
+    }
+
+    @Test
+    void testGetTaskFields_InvalidFields() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTaskFields(Collections.singletonList("id,owner"), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTaskFields(Collections.singletonList(" , "), null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskFields(null, null));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void testGetTaskStats() {
+        // Projection mocks are created before stubbing the repository, Mockito cannot nest stubbings
+        List<TaskRepository.PriorityStatusCount> byPriority = Arrays.asList(
+                priorityStatusCount(Task.Priority.HIGH, false, 3),
+                priorityStatusCount(Task.Priority.HIGH, true, 2),
+                priorityStatusCount(Task.Priority.LOW, true, 4));
+        List<TaskRepository.PriorityCount> overdue = Collections.singletonList(priorityCount(Task.Priority.HIGH, 1));
+        List<TaskRepository.MonthCount> byMonth = Arrays.asList(monthCount(null, null, 1), monthCount(2025, 6, 2));
+        when(taskRepository.countByPriorityAndCompleted()).thenReturn(byPriority);
+        when(taskRepository.countOpenDueBeforeByPriority(any())).thenReturn(overdue);
+        when(taskRepository.countOpenByDueMonth()).thenReturn(byMonth);
+
+        TaskStats stats = taskService.getTaskStats();
+
+        assertEquals(9, stats.getTotal());
+        assertEquals(6, stats.getCompleted());
+        assertEquals(3, stats.getOpen());
+        assertEquals(5, stats.getByPriority().get(Task.Priority.HIGH).getTotal());
+        assertEquals(3, stats.getByPriority().get(Task.Priority.HIGH).getOpen());
+        assertEquals(4, stats.getByPriority().get(Task.Priority.LOW).getCompleted());
+        assertNull(stats.getByPriority().get(Task.Priority.MEDIUM));
+        assertEquals(1, stats.getOverdue());
+        assertEquals(Long.valueOf(1), stats.getOverdueByPriority().get(Task.Priority.HIGH));
+        assertEquals(Collections.singletonMap("2025-06", 2L), stats.getOpenByDueMonth());
+        assertEquals(1, stats.getOpenWithoutDueDate());
+    }
+
+    @Test
+    void testGetTaskStats_RecomputedOnlyAfterWrites() {
+        when(changeCounter.current()).thenReturn(7L);
+
+        TaskStats first = taskService.getTaskStats();
+        assertSame(first, taskService.getTaskStats());
+        verify(taskRepository, times(1)).countByPriorityAndCompleted();
+
+        when(changeCounter.current()).thenReturn(8L);
+        assertNotSame(first, taskService.getTaskStats());
+        verify(taskRepository, times(2)).countByPriorityAndCompleted();
+    }
+
+    @Test
+    void testSearchTasks_KeepsRankOrder() {
+        when(searchIndex.search("task", 2, 2)).thenReturn(new TaskSearchHits(Arrays.asList(3L, 1L), 5));
+        // The repository returns rows in its own order
+        when(taskRepository.findAllById(Arrays.asList(3L, 1L)))
+            .thenReturn(Arrays.asList(taskList.get(0), taskList.get(2)));
+
+        TaskSearchPage result = taskService.searchTasks("task", 1, 2);
+
+        assertEquals(Arrays.asList(3L, 1L), result.getItems().stream().map(TaskView::getId).toList());
+        assertEquals(1, result.getPage());
+        assertEquals(5, result.getTotalHits());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void testSearchTasks_FarPageOffsetDoesNotOverflow() {
+        when(searchIndex.search("task", 100_000_000L * 50, 50)).thenReturn(new TaskSearchHits(Collections.emptyList(), 5));
+
+        TaskSearchPage result = taskService.searchTasks("task", 100_000_000, 50);
+
+        assertTrue(result.getItems().isEmpty());
+        verify(searchIndex, times(1)).search("task", 5_000_000_000L, 50);
+    }
+
+    @Test
+    void testSearchTasks_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(" -- ", null, null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks("task", -1, null));
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void testGetTasksPage_SizeIsCapped() {
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(501))).thenReturn(views(taskList));
+
+        TaskPage result = taskService.getTasksPage("", 10_000);
+
+        assertEquals(3, result.getSize());
+        verify(taskRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(501));
+    }
+
+    @Test
+    void testGetTasksPage_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksPage("not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksPage(null, 0));
+        verify(taskRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportTasks() {
+        when(taskRepository.streamAllByOrderByIdAsc()).thenReturn(taskList.stream());
+        Consumer<Task> consumer = mock(Consumer.class);
+
+        taskService.exportTasks(consumer);
+
+        verify(consumer, times(3)).accept(any(Task.class));
+        // Every exported task is detached from the persistence context
+        verify(entityManager, times(1)).detach(sampleTask);
+        verify(entityManager, times(3)).detach(any(Task.class));
     }
 
     @Test
@@ -87,9 +320,9 @@ class TaskServiceTest {
     @Test
     void testGetTasksByPriority() {
         List<Task> highPriorityTasks = Collections.singletonList(taskList.get(1)); // Task 2 is HIGH priority
-        when(taskRepository.findByPriority(Task.Priority.HIGH)).thenReturn(highPriorityTasks);
+        when(taskRepository.findByPriority(Task.Priority.HIGH)).thenReturn(views(highPriorityTasks));
 
-        List<Task> result = taskService.getTasksByPriority(Task.Priority.HIGH);
+        List<TaskView> result = taskService.getTasksByPriority(Task.Priority.HIGH);
 
         assertEquals(1, result.size());
         assertEquals("Task 2", result.get(0).getTitle());
@@ -99,9 +332,9 @@ class TaskServiceTest {
     @Test
     void testGetTasksByCompletionStatus() {
         List<Task> completedTasks = Collections.singletonList(taskList.get(2)); // Task 3 is completed
-        when(taskRepository.findByCompleted(true)).thenReturn(completedTasks);
+        when(taskRepository.findByCompleted(true)).thenReturn(views(completedTasks));
 
-        List<Task> result = taskService.getTasksByCompletionStatus(true);
+        List<TaskView> result = taskService.getTasksByCompletionStatus(true);
 
         assertEquals(1, result.size());
         assertEquals("Task 3", result.get(0).getTitle());
@@ -111,9 +344,9 @@ class TaskServiceTest {
     @Test
     void testGetTasksByPriorityAndStatus() {
         List<Task> highCompletedTasks = new ArrayList<>(); // No tasks match this criteria in our sample
-        when(taskRepository.findByPriorityAndCompleted(Task.Priority.HIGH, true)).thenReturn(highCompletedTasks);
+        when(taskRepository.findByPriorityAndCompleted(Task.Priority.HIGH, true)).thenReturn(views(highCompletedTasks));
 
-        List<Task> result = taskService.getTasksByPriorityAndStatus(Task.Priority.HIGH, true);
+        List<TaskView> result = taskService.getTasksByPriorityAndStatus(Task.Priority.HIGH, true);
 
         assertEquals(0, result.size());
         verify(taskRepository, times(1)).findByPriorityAndCompleted(Task.Priority.HIGH, true);
@@ -136,6 +369,7 @@ class TaskServiceTest {
         Task taskToUpdate = new Task("Updated Task", "Updated Description");
         taskToUpdate.setId(1L);
         
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(0L));
         when(taskRepository.save(any(Task.class))).thenReturn(taskToUpdate);
 
         Task result = taskService.updateTask(taskToUpdate);
@@ -145,84 +379,183 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).save(taskToUpdate);
     }
 
+    @Test
+    void testUpdateTask_RetriesOnConcurrentWrite() {
+        Task taskToUpdate = new Task("Updated Task", "Updated Description");
+        taskToUpdate.setId(1L);
+
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(1L), Optional.of(2L));
+        when(taskRepository.save(taskToUpdate))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L))
+                .thenReturn(taskToUpdate);
+
+        Task result = taskService.updateTask(taskToUpdate);
+
+        assertSame(taskToUpdate, result);
+        assertEquals(2L, result.getVersion());
+        verify(taskRepository, times(2)).save(taskToUpdate);
+    }
+
+    @Test
+    void testUpdateTask_TaskDeletedBetweenAttempts() {
+        Task taskToUpdate = new Task("Updated Task", "Updated Description");
+        taskToUpdate.setId(1L);
+
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(1L), Optional.empty());
+        when(taskRepository.save(taskToUpdate))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        assertNull(taskService.updateTask(taskToUpdate));
+        verify(taskRepository, times(1)).save(taskToUpdate);
+    }
+
+    @Test
+    void testUpdateTask_ConflictWhenRetriesRunOut() {
+        Task taskToUpdate = new Task("Updated Task", "Updated Description");
+        taskToUpdate.setId(1L);
+
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(1L), Optional.of(2L), Optional.of(3L));
+        when(taskRepository.save(taskToUpdate))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        ConcurrencyFailureException e = assertThrows(ConcurrencyFailureException.class,
+                () -> taskService.updateTask(taskToUpdate));
+        assertFalse(e instanceof ObjectOptimisticLockingFailureException);
+        verify(taskRepository, times(3)).save(taskToUpdate);
+    }
+
+    @Test
+    void testUpdateTask_PinnedVersionIsNotRetried() {
+        Task taskToUpdate = new Task("Updated Task", "Updated Description");
+        taskToUpdate.setId(1L);
+        taskToUpdate.setVersion(1L);
+
+        when(taskRepository.save(taskToUpdate))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.updateTask(taskToUpdate));
+        verify(taskRepository, times(1)).save(taskToUpdate);
+        verify(taskRepository, never()).findVersionById(anyLong());
+    }
+
     @Test
     void testDeleteTask() {
-        doNothing().when(taskRepository).deleteById(1L);
+        Task task = new Task("Test Task", "Test Description");
+        task.setId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
 
-        taskService.deleteTask(1L);
+        assertTrue(taskService.deleteTask(1L));
 
-        verify(taskRepository, times(1)).deleteById(1L);
+        verify(taskRepository, times(1)).delete(task);
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+        verify(changeCounter, times(1)).increment();
+    }
+
+    @Test
+    void testDeleteTask_AlreadyDeleted() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertFalse(taskService.deleteTask(1L));
+
+        verify(taskRepository, never()).delete(any(Task.class));
+        verify(eventPublisher, never()).publishEvent(any(TaskChangedEvent.class));
+        verify(changeCounter, never()).increment();
     }
 
     @Test
     void testMarkTaskCompleted_ExistingTask() {
         Task task = new Task("Test Task", "Test Description");
         task.setId(1L);
-        task.setCompleted(false);
+        task.setCompleted(true);
         
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
-            Task savedTask = invocation.getArgument(0);
-            return savedTask;
-        });
+        when(taskRepository.updateCompleted(1L, true, null)).thenReturn(1);
+        when(taskRepository.findUncachedById(1L)).thenReturn(Optional.of(task));
 
-        Task result = taskService.markTaskCompleted(1L);
+        Task result = taskService.markTaskCompleted(1L, null);
 
         assertNotNull(result);
         assertTrue(result.isCompleted());
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, times(1)).updateCompleted(1L, true, null);
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
     void testMarkTaskCompleted_NonExistingTask() {
-        when(taskRepository.findById(99L)).thenReturn(Optional.empty());
+        when(taskRepository.updateCompleted(99L, true, null)).thenReturn(0);
 
-        Task result = taskService.markTaskCompleted(99L);
+        Task result = taskService.markTaskCompleted(99L, null);
 
         assertNull(result);
-        verify(taskRepository, times(1)).findById(99L);
+        verify(taskRepository, times(1)).updateCompleted(99L, true, null);
+        verify(taskRepository, never()).findUncachedById(99L);
         verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testMarkTaskCompleted_StaleVersion() {
+        when(taskRepository.updateCompleted(1L, true, 2L)).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.markTaskCompleted(1L, 2L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testSetTaskPriority_VersionedNonExistingTask() {
+        when(taskRepository.updatePriority(99L, Task.Priority.LOW, 2L)).thenReturn(0);
+        when(taskRepository.existsById(99L)).thenReturn(false);
+
+        assertFalse(taskService.setTaskPriority(99L, Task.Priority.LOW, 2L));
     }
 
     @Test
     void testMarkTaskNotCompleted_ExistingTask() {
         Task task = new Task("Test Task", "Test Description");
         task.setId(1L);
-        task.setCompleted(true);
+        task.setCompleted(false);
         
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
-            Task savedTask = invocation.getArgument(0);
-            return savedTask;
-        });
+        when(taskRepository.updateCompleted(1L, false, null)).thenReturn(1);
+        when(taskRepository.findUncachedById(1L)).thenReturn(Optional.of(task));
 
-        Task result = taskService.markTaskNotCompleted(1L);
+        Task result = taskService.markTaskNotCompleted(1L, null);
 
         assertNotNull(result);
         assertFalse(result.isCompleted());
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, times(1)).updateCompleted(1L, false, null);
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
     void testUpdateTaskPriority_ExistingTask() {
         Task task = new Task("Test Task", "Test Description");
         task.setId(1L);
-        task.setPriority(Task.Priority.LOW);
+        task.setPriority(Task.Priority.HIGH);
         
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
-            Task savedTask = invocation.getArgument(0);
-            return savedTask;
-        });
+        when(taskRepository.updatePriority(1L, Task.Priority.HIGH, null)).thenReturn(1);
+        when(taskRepository.findUncachedById(1L)).thenReturn(Optional.of(task));
 
-        Task result = taskService.updateTaskPriority(1L, Task.Priority.HIGH);
+        Task result = taskService.updateTaskPriority(1L, Task.Priority.HIGH, null);
 
         assertNotNull(result);
         assertEquals(Task.Priority.HIGH, result.getPriority());
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, times(1)).updatePriority(1L, Task.Priority.HIGH, null);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void testSetTaskFields_SingleStatement() {
+        Date dueDate = new Date();
+        when(taskRepository.updateCompleted(1L, true, null)).thenReturn(1);
+        when(taskRepository.updatePriority(99L, Task.Priority.LOW, null)).thenReturn(0);
+        when(taskRepository.updateDueDate(1L, dueDate, null)).thenReturn(1);
+
+        assertTrue(taskService.setTaskCompleted(1L, true, null));
+        assertFalse(taskService.setTaskPriority(99L, Task.Priority.LOW, null));
+        assertTrue(taskService.setTaskDueDate(1L, dueDate, null));
+
+        // No entity is loaded when the caller does not need the updated task back
+        verify(taskRepository, never()).findUncachedById(anyLong());
     }
 
     @Test
@@ -230,9 +563,9 @@ class TaskServiceTest {
         Date dueDate = new Date();
         List<Task> tasksWithDueDate = Collections.singletonList(sampleTask);
         
-        when(taskRepository.findByDueDate(dueDate)).thenReturn(tasksWithDueDate);
+        when(taskRepository.findByDueDate(dueDate)).thenReturn(views(tasksWithDueDate));
 
-        List<Task> result = taskService.getTasksByDueDate(dueDate);
+        List<TaskView> result = taskService.getTasksByDueDate(dueDate);
 
         assertEquals(1, result.size());
         verify(taskRepository, times(1)).findByDueDate(dueDate);
@@ -243,9 +576,9 @@ class TaskServiceTest {
         Date date = new Date();
         List<Task> tasksDueBefore = Collections.singletonList(sampleTask);
         
-        when(taskRepository.findByDueDateBefore(date)).thenReturn(tasksDueBefore);
+        when(taskRepository.findByDueDateBefore(date)).thenReturn(views(tasksDueBefore));
 
-        List<Task> result = taskService.getTasksDueBefore(date);
+        List<TaskView> result = taskService.getTasksDueBefore(date);
 
         assertEquals(1, result.size());
         verify(taskRepository, times(1)).findByDueDateBefore(date);
@@ -256,9 +589,9 @@ class TaskServiceTest {
         Date date = new Date();
         List<Task> tasksDueAfter = Collections.singletonList(sampleTask);
         
-        when(taskRepository.findByDueDateAfter(date)).thenReturn(tasksDueAfter);
+        when(taskRepository.findByDueDateAfter(date)).thenReturn(views(tasksDueAfter));
 
-        List<Task> result = taskService.getTasksDueAfter(date);
+        List<TaskView> result = taskService.getTasksDueAfter(date);
 
         assertEquals(1, result.size());
         verify(taskRepository, times(1)).findByDueDateAfter(date);
@@ -270,9 +603,9 @@ class TaskServiceTest {
         List<Task> tasksByPriorityAndDueDate = Collections.singletonList(sampleTask);
         
         when(taskRepository.findByPriorityAndDueDate(Task.Priority.MEDIUM, dueDate))
-            .thenReturn(tasksByPriorityAndDueDate);
+            .thenReturn(views(tasksByPriorityAndDueDate));
 
-        List<Task> result = taskService.getTasksByPriorityAndDueDate(Task.Priority.MEDIUM, dueDate);
+        List<TaskView> result = taskService.getTasksByPriorityAndDueDate(Task.Priority.MEDIUM, dueDate);
 
         assertEquals(1, result.size());
         verify(taskRepository, times(1)).findByPriorityAndDueDate(Task.Priority.MEDIUM, dueDate);
@@ -280,23 +613,46 @@ class TaskServiceTest {
 
     @Test
     void testUpdateTaskDueDate_ExistingTask() {
+        Date newDueDate = new Date();
         Task task = new Task("Test Task", "Test Description");
         task.setId(1L);
-        task.setDueDate(null);
-        
-        Date newDueDate = new Date();
+        task.setDueDate(newDueDate);
         
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
-            Task savedTask = invocation.getArgument(0);
-            return savedTask;
-        });
+        when(taskRepository.updateDueDate(1L, newDueDate, null)).thenReturn(1);
+        when(taskRepository.findUncachedById(1L)).thenReturn(Optional.of(task));
 
-        Task result = taskService.updateTaskDueDate(1L, newDueDate);
+        Task result = taskService.updateTaskDueDate(1L, newDueDate, null);
 
         assertNotNull(result);
         assertEquals(newDueDate, result.getDueDate());
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, times(1)).updateDueDate(1L, newDueDate, null);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    private static TaskRepository.PriorityStatusCount priorityStatusCount(Task.Priority priority, boolean completed, long count) {
+        TaskRepository.PriorityStatusCount projection = mock(TaskRepository.PriorityStatusCount.class);
+        when(projection.getPriority()).thenReturn(priority);
+        when(projection.getCompleted()).thenReturn(completed);
+        when(projection.getCount()).thenReturn(count);
+        return projection;
+    }
+
+    private static TaskRepository.PriorityCount priorityCount(Task.Priority priority, long count) {
+        TaskRepository.PriorityCount projection = mock(TaskRepository.PriorityCount.class);
+        when(projection.getPriority()).thenReturn(priority);
+        when(projection.getCount()).thenReturn(count);
+        return projection;
+    }
+
+    private static TaskRepository.MonthCount monthCount(Integer year, Integer month, long count) {
+        TaskRepository.MonthCount projection = mock(TaskRepository.MonthCount.class);
+        when(projection.getYear()).thenReturn(year);
+        when(projection.getMonth()).thenReturn(month);
+        when(projection.getCount()).thenReturn(count);
+        return projection;
+    }
+
+    private static List<TaskView> views(List<Task> tasks) {
+        return tasks.stream().map(TaskView::of).toList();
     }
-}
\ No newline at end of file
+}